@@ -3,9 +3,19 @@ package zeed;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiFunction;
 
 /**
  * SEED ECB (CBC / CTR도 가능) PKCS7 Padding
@@ -34,7 +44,10 @@ public class SEED {
 		/** 지원하지 않는 Block Chain	*/	CANNOT_SUPPORT_MODE				(10,"cannot support mode"),
 		/** 지원하지 않는 암호길이(Bit)	*/	CANNOT_SUPPORT_BIT				(11, "cannot support bit"),
 		/** 지원하지 않는 Padding방식	*/	CANNOT_SUPPORT_PADDING			(12, "cannot support padding"),
-		/** 채움(Padding) 이 없음		*/	EMPTY_PADDING					(13, "padding is not") ;
+		/** 채움(Padding) 이 없음		*/	EMPTY_PADDING					(13, "padding is not"),
+		/** 등록되지 않은 키 ID			*/	UNKNOWN_KEY_ID					(14, "unknown key id"),
+		/** 출력 Buffer가 작음			*/	OUTPUT_LENGTH					(15, "output buffer is too small"),
+		/** Container 형식 오류			*/	CONTAINER_FORMAT				(16, "invalid container format") ;
 		
 		private final int _code ;
 		private final String _msg ;
@@ -143,7 +156,8 @@ public class SEED {
 	public enum Option {
 		/** 옵션 없음								*/	NONE					 (0x0000),
 		/** 복호화시 Padding이 없는 경우도 정상처리	*/	DECRYPT_EMPTY_PADDING_OK (0x0001),
-		/** Decoding시 WhiteSpace 무시				*/	DECODE_IGNORE_WHITESPACE (0x0002) ;
+		/** Decoding시 WhiteSpace 무시				*/	DECODE_IGNORE_WHITESPACE (0x0002),
+		/** 복호화시 마지막 Block(Padding)부터 확인	*/	DECRYPT_CHECK_PADDING_FIRST (0x0004) ;
 		
 		private int _option ;
 		
@@ -179,8 +193,22 @@ public class SEED {
 	}
 	
 	private static final int _BLOCK_SIZE = 16 ;
+	/** 동시에 처리하는 Block 수	*/
+	private static final int _MULTI_BLOCK = 4 ;
+	private static final int _MULTI_BLOCK_SIZE = _BLOCK_SIZE * _MULTI_BLOCK ;
+	/** CTR, CBC 복호화시 한번에 엔진에 넘기는 Block 수 */
+	private static final int _STREAM_BLOCK = 64 ;
+	/** 이 길이 이상일 때 병렬 처리한다. (기본값) */
+	private static final int _PARALLEL_THRESHOLD = 1024 * 1024 ;
+	/** encryptAll/decryptAll 병렬 처리시 Thread 하나가 맡는 최소 건수 */
+	private static final int _BATCH_SIZE = 256 ;
+	/** Stream 처리 Buffer 크기 */
+	private static final int _STREAM_BUFFER_SIZE = 64 * 1024 ;
+	private static final int _MAX_STREAM_BUFFER_SIZE = 16 * 1024 * 1024 ;
+	/** Direct ByteBuffer를 한번에 옮겨 처리하는 크기 */
+	private static final int _NIO_CHUNK_SIZE = 16 * 1024 ;
 	
-	private static final int _SS0[] = {
+	static final int _SS0[] = {
 		0x2989a1a8, 0x05858184, 0x16c6d2d4, 0x13c3d3d0, 0x14445054, 0x1d0d111c, 0x2c8ca0ac, 0x25052124,
 		0x1d4d515c, 0x03434340, 0x18081018, 0x1e0e121c, 0x11415150, 0x3cccf0fc, 0x0acac2c8, 0x23436360,
 		0x28082028, 0x04444044, 0x20002020, 0x1d8d919c, 0x20c0e0e0, 0x22c2e2e0, 0x08c8c0c8, 0x17071314,
@@ -215,7 +243,7 @@ public class SEED {
 		0x28c8e0e8, 0x1b0b1318, 0x05050104, 0x39497178, 0x10809090, 0x2a4a6268, 0x2a0a2228, 0x1a8a9298
 	};
 
-	private static final int _SS1[] = {
+	static final int _SS1[] = {
 		0x38380830, 0xe828c8e0, 0x2c2d0d21, 0xa42686a2, 0xcc0fcfc3, 0xdc1eced2, 0xb03383b3, 0xb83888b0,
 		0xac2f8fa3, 0x60204060, 0x54154551, 0xc407c7c3, 0x44044440, 0x6c2f4f63, 0x682b4b63, 0x581b4b53,
 		0xc003c3c3, 0x60224262, 0x30330333, 0xb43585b1, 0x28290921, 0xa02080a0, 0xe022c2e2, 0xa42787a3,
@@ -250,7 +278,7 @@ public class SEED {
 		0xd819c9d1, 0x4c0c4c40, 0x80038383, 0x8c0f8f83, 0xcc0ecec2, 0x383b0b33, 0x480a4a42, 0xb43787b3
 	};
 
-	private static final int _SS2[] = {
+	static final int _SS2[] = {
 		0xa1a82989, 0x81840585, 0xd2d416c6, 0xd3d013c3, 0x50541444, 0x111c1d0d, 0xa0ac2c8c, 0x21242505,
 		0x515c1d4d, 0x43400343, 0x10181808, 0x121c1e0e, 0x51501141, 0xf0fc3ccc, 0xc2c80aca, 0x63602343,
 		0x20282808, 0x40440444, 0x20202000, 0x919c1d8d, 0xe0e020c0, 0xe2e022c2, 0xc0c808c8, 0x13141707,
@@ -285,7 +313,7 @@ public class SEED {
 		0xe0e828c8, 0x13181b0b, 0x01040505, 0x71783949, 0x90901080, 0x62682a4a, 0x22282a0a, 0x92981a8a
 	};
 
-	private static final int _SS3[] = {
+	static final int _SS3[] = {
 		0x08303838, 0xc8e0e828, 0x0d212c2d, 0x86a2a426, 0xcfc3cc0f, 0xced2dc1e, 0x83b3b033, 0x88b0b838,
 		0x8fa3ac2f, 0x40606020, 0x45515415, 0xc7c3c407, 0x44404404, 0x4f636c2f, 0x4b63682b, 0x4b53581b,
 		0xc3c3c003, 0x42626022, 0x03333033, 0x85b1b435, 0x09212829, 0x80a0a020, 0xc2e2e022, 0x87a3a427,
@@ -384,8 +412,16 @@ public class SEED {
 	
 	boolean isEncrypt = true ;
 	byte[] seasoning = new byte[0] ;
-	/** Block처리하며 남은 Binary	*/	ArrayList<Byte> remain_data = null ;
-	/** return해야할 Binary 		*/	ArrayList<Byte> ret_binary  = new ArrayList<Byte>();
+	/** Block 단위 임시 Buffer		*/	final byte[] block_buffer = new byte[_BLOCK_SIZE] ;
+	/** Multi Block 임시 Buffer		*/	byte[] multi_buffer = null ;	// CBC 복호화, CTR에서 처음 쓸 때 만든다. (_multiBuffer())
+	/** Block처리하며 남은 Binary	*/	final byte[] remain_data = new byte[2 * _BLOCK_SIZE] ;
+	/** remain_data 길이			*/	int remain_size = -1 ;	// -1이면 process()/append() 전
+	/** return해야할 Binary 		*/	byte[] ret_binary = new byte[0] ;
+	/** ret_binary 길이				*/	int ret_size = 0 ;
+	/** 병렬 처리용 Executor		*/	ExecutorService parallel_executor = null ;
+	/** 병렬 처리 최소 길이			*/	int parallel_threshold = _PARALLEL_THRESHOLD ;
+	/** Direct ByteBuffer 입력 Buffer	*/	byte[] nio_in  = null ;
+	/** Direct ByteBuffer 출력 Buffer	*/	byte[] nio_out = null ;
 	
 	/**
 	 * 암호화 방식 정하기
@@ -400,6 +436,18 @@ public class SEED {
 		this._option = Option.NONE.option() ;
 	}
 	
+	/**
+	 * 암호화 방식과 키 정하기
+	 * SEEDKey는 여러 Thread가 공유할 수 있으므로, 요청(또는 Thread)마다 이것으로 SEED를 만들어 쓴다.
+	 * @param mode		Mod.ECB, Mode.CBC, Mode.CTR 중 택일
+	 * @param padding	Padding.BIT, Padding.X923, Padding.PKCS7 중 택일
+	 * @param key		미리 확장해 둔 키 (bit는 key를 따른다.)
+	 */
+	public SEED(Mode mode, Padding padding, SEEDKey key) {
+		this(mode, key.bit(), padding) ;
+		this.roundKey = key.roundKey() ;
+	}
+	
 	/**
 	 * Option을 넣기. (단, Option.NONE은 Clear된다.)
 	 * @param option	Option을 참조하여 넣는다.
@@ -437,44 +485,75 @@ public class SEED {
 		this.ctr = ctr ;
 	}
 	
-	private static int _b2i(byte[] bin, int offset, int length) {
-		int ret = 0;
-		for (int i = 0; i < length; ++i) {
-			ret <<= 8;
-			ret |= bin[offset+i] & 0xFF;
-		}
-		return ret;
+	/**
+	 * 병렬 처리 설정하기
+	 * SEED.ECB_MODE, SEED.CTR_MODE(및 SEED.CBC_MODE 복호화)에서 1MB 이상의 Data를 Segment로 나누어 pool에서 동시에 처리한다.
+	 * CTR의 각 Segment의 Counter는 setCounter()값에 Segment의 Block 위치를 더한 값이므로, 결과는 순차 처리와 같다.
+	 * @param pool	병렬 처리할 ForkJoinPool (null이면 순차 처리)
+	 */
+	public void setParallelism(ForkJoinPool pool) {
+		setParallelism(pool, _PARALLEL_THRESHOLD) ;
 	}
 	
-	private static void _i2b(byte[] ret, int offset, int value, int size) {
-		for (int i = size - 1; i >= 0; --i) {
-			ret[offset+i] = (byte)(value & 0xFF);
-			value >>>= 8;
-		}
+	/**
+	 * 병렬 처리 설정하기
+	 * threshold 이상의 Data는 Block 단위로 나누어 executor에서 동시에 처리하고, 그보다 작으면 순차 처리한다.
+	 * 마지막 Padding Block은 호출한 Thread에서 처리한다.
+	 * @param executor	병렬 처리할 Executor (ForkJoinPool 등, null이면 순차 처리)
+	 * @param threshold	병렬 처리할 최소 길이(Byte)
+	 */
+	public void setParallelism(ExecutorService executor, int threshold) {
+		this.parallel_executor = executor ;
+		this.parallel_threshold = Math.max(threshold, _BLOCK_SIZE) ;
+	}
+	
+	/** byte[]를 Big-Endian int로 보기	*/
+	private static final VarHandle _INT  = MethodHandles.byteArrayViewVarHandle(int[].class,  ByteOrder.BIG_ENDIAN) ;
+	/** byte[]를 Big-Endian long으로 보기	*/
+	private static final VarHandle _LONG = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN) ;
+	
+	static int _b2i(byte[] bin, int offset) {
+		return (int)_INT.get(bin, offset) ;
+	}
+	
+	static void _i2b(byte[] ret, int offset, int value) {
+		_INT.set(ret, offset, value) ;
 	}
 	
+	/** 키 확장 상수 (SEED128)	*/
+	private static final int[] _KC128 = {
+			0x9e3779b9, 0x3c6ef373, 0x78dde6e6, 0xf1bbcdcc,
+			0xe3779b99, 0xc6ef3733, 0x8dde6e67, 0x1bbcdccf,
+			0x3779b99e, 0x6ef3733c, 0xdde6e678, 0xbbcdccf1,
+			0x779b99e3, 0xef3733c6, 0xde6e678d, 0xbcdccf1b,
+	} ;
+	
+	/** 키 확장 상수 (SEED256)	*/
+	private static final int[] _KC256 = {
+		0x9e3779b9, 0x3c6ef373, 0x78dde6e6, 0xf1bbcdcc, 0xe3779b99, 0xc6ef3733,
+		0x8dde6e67, 0x1bbcdccf, 0x3779b99e, 0x6ef3733c, 0xdde6e678, 0xbbcdccf1,
+		0x779b99e3, 0xef3733c6, 0xde6e678d, 0xbcdccf1b, 0x79b99e37, 0xf3733c6e,
+		0xe6e678dd, 0xcdccf1bb, 0x9b99e377, 0x3733c6ef, 0x6e678dde, 0xdccf1bbc,
+	} ;
+	
 	/**
 	@brief UserKey를 이용하여 RoundKey 생성
+	@param bit : SEED128 또는 SEED256
 	@param userKey : RoundKey를 생성할 기본 키
 	@return roundKey (SEED_128 : 16byte 또는 SEED_256 : 32byte)
 	*/
-	private int[] _getRoundKey(byte[] userKey) {
-		switch(this.bit)
+	static int[] _getRoundKey(Bit bit, byte[] userKey) {
+		switch(bit)
 		{
 		case SEED128 :
 						{
 							int[] U = new int[4] ;
 							for(int i = 0; i < 4; ++i)
-								U[i] = _b2i(userKey, i *4, 4) ;
+								U[i] = _b2i(userKey, i *4) ;
 							
 							int[] K = new int[32] ;
 							
-							int[] KC = {
-									0x9e3779b9, 0x3c6ef373, 0x78dde6e6, 0xf1bbcdcc,
-									0xe3779b99, 0xc6ef3733, 0x8dde6e67, 0x1bbcdccf,
-									0x3779b99e, 0x6ef3733c, 0xdde6e678, 0xbbcdccf1,
-									0x779b99e3, 0xef3733c6, 0xde6e678d, 0xbcdccf1b,
-							} ;
+							final int[] KC = _KC128 ;
 							
 							_RoundKeyUpdate0(K,  0, U, KC[ 0]);
 							_RoundKeyUpdate1(K,  2, U, KC[ 1]);
@@ -503,16 +582,11 @@ public class SEED {
 						{
 							int[] U = new int[8] ;
 							for(int i = 0; i < 8; ++i)
-								U[i] = _b2i(userKey, i * 4, 4) ;
+								U[i] = _b2i(userKey, i * 4) ;
 							
 							int[] K = new int[48] ;
 							
-							int[] KC = {
-								0x9e3779b9, 0x3c6ef373, 0x78dde6e6, 0xf1bbcdcc, 0xe3779b99, 0xc6ef3733,
-								0x8dde6e67, 0x1bbcdccf, 0x3779b99e, 0x6ef3733c, 0xdde6e678, 0xbbcdccf1,
-								0x779b99e3, 0xef3733c6, 0xde6e678d, 0xbcdccf1b, 0x79b99e37, 0xf3733c6e,
-								0xe6e678dd, 0xcdccf1bb, 0x9b99e377, 0x3733c6ef, 0x6e678dde, 0xdccf1bbc,
-							} ;
+							final int[] KC = _KC256 ;
 							
 							int T0 = (((U[0] + U[2]) ^ U[4]) - U[5]) ^ KC[0] ;
 							int T1 = (((U[1] - U[3]) ^ U[6]) + U[7]) ^ KC[0] ;
@@ -549,26 +623,95 @@ public class SEED {
 		return null ;
 	}
 	
-	private static final void _SEED_Round(int LR[], int L0, int L1, int R0, int R1, int[] K, int K_offset) {
-		int T[] = new int[2];		// Temporary variables for round function F
-		
-		T[0] = LR[R0] ^ K[K_offset+0];
-		T[1] = LR[R1] ^ K[K_offset+1];
-		T[1] ^= T[0];
-		T[1] = _SS0[_GetB0(T[1])] ^ _SS1[_GetB1(T[1])] ^ _SS2[_GetB2(T[1])] ^ _SS3[_GetB3(T[1])];
-		T[0] += T[1];
-		T[0] = _SS0[_GetB0(T[0])] ^ _SS1[_GetB1(T[0])] ^ _SS2[_GetB2(T[0])] ^ _SS3[_GetB3(T[0])];
-		T[1] += T[0];
-		T[1] = _SS0[_GetB0(T[1])] ^ _SS1[_GetB1(T[1])] ^ _SS2[_GetB2(T[1])] ^ _SS3[_GetB3(T[1])];
-		T[0] += T[1];
-		LR[L0] ^= T[0];
-		LR[L1] ^= T[1];
+	private static int _G(int X) {
+		return _SS0[_GetB0(X)] ^ _SS1[_GetB1(X)] ^ _SS2[_GetB2(X)] ^ _SS3[_GetB3(X)] ;
+	}
+	
+	/**
+	 * Round 함수 F
+	 * <p>
+	 * 배열 할당 없이 두 값을 돌려주기 위해 상위 32bit에 T0, 하위 32bit에 T1을 담는다.
+	 */
+	private static long _SEED_F(int R0, int R1, int K0, int K1) {
+		int T0 = R0 ^ K0 ;
+		int T1 = R1 ^ K1 ;
+		T1 ^= T0 ;
+		T1 = _G(T1) ;
+		T0 += T1 ;
+		T0 = _G(T0) ;
+		T1 += T0 ;
+		T1 = _G(T1) ;
+		T0 += T1 ;
+		return ((long)T0 << 32) | (T1 & 0xFFFFFFFFL) ;
+	}
+
+	private static void _SEED_Encrypt128(byte[] plain, int p_offset, byte[] cipher, int c_offset, int[] K) {
+		int L0 = _b2i(plain, p_offset + 0) ;
+		int L1 = _b2i(plain, p_offset + 4) ;
+		int R0 = _b2i(plain, p_offset + 8) ;
+		int R1 = _b2i(plain, p_offset +12) ;
+		long T ;
+		
+		T = _SEED_F(R0, R1, K[ 0], K[ 1]) ;	L0 ^= (int)(T >>> 32) ;	L1 ^= (int)T ;	// Round 1
+		T = _SEED_F(L0, L1, K[ 2], K[ 3]) ;	R0 ^= (int)(T >>> 32) ;	R1 ^= (int)T ;	// Round 2
+		T = _SEED_F(R0, R1, K[ 4], K[ 5]) ;	L0 ^= (int)(T >>> 32) ;	L1 ^= (int)T ;	// Round 3
+		T = _SEED_F(L0, L1, K[ 6], K[ 7]) ;	R0 ^= (int)(T >>> 32) ;	R1 ^= (int)T ;	// Round 4
+		T = _SEED_F(R0, R1, K[ 8], K[ 9]) ;	L0 ^= (int)(T >>> 32) ;	L1 ^= (int)T ;	// Round 5
+		T = _SEED_F(L0, L1, K[10], K[11]) ;	R0 ^= (int)(T >>> 32) ;	R1 ^= (int)T ;	// Round 6
+		T = _SEED_F(R0, R1, K[12], K[13]) ;	L0 ^= (int)(T >>> 32) ;	L1 ^= (int)T ;	// Round 7
+		T = _SEED_F(L0, L1, K[14], K[15]) ;	R0 ^= (int)(T >>> 32) ;	R1 ^= (int)T ;	// Round 8
+		T = _SEED_F(R0, R1, K[16], K[17]) ;	L0 ^= (int)(T >>> 32) ;	L1 ^= (int)T ;	// Round 9
+		T = _SEED_F(L0, L1, K[18], K[19]) ;	R0 ^= (int)(T >>> 32) ;	R1 ^= (int)T ;	// Round 10
+		T = _SEED_F(R0, R1, K[20], K[21]) ;	L0 ^= (int)(T >>> 32) ;	L1 ^= (int)T ;	// Round 11
+		T = _SEED_F(L0, L1, K[22], K[23]) ;	R0 ^= (int)(T >>> 32) ;	R1 ^= (int)T ;	// Round 12
+		T = _SEED_F(R0, R1, K[24], K[25]) ;	L0 ^= (int)(T >>> 32) ;	L1 ^= (int)T ;	// Round 13
+		T = _SEED_F(L0, L1, K[26], K[27]) ;	R0 ^= (int)(T >>> 32) ;	R1 ^= (int)T ;	// Round 14
+		T = _SEED_F(R0, R1, K[28], K[29]) ;	L0 ^= (int)(T >>> 32) ;	L1 ^= (int)T ;	// Round 15
+		T = _SEED_F(L0, L1, K[30], K[31]) ;	R0 ^= (int)(T >>> 32) ;	R1 ^= (int)T ;	// Round 16
+		
+		_i2b(cipher, c_offset+ 0, R0) ;
+		_i2b(cipher, c_offset+ 4, R1) ;
+		_i2b(cipher, c_offset+ 8, L0) ;
+		_i2b(cipher, c_offset+12, L1) ;
 	}
 
-	private static final int LR_L0 = 0;
-	private static final int LR_L1 = 1;
-	private static final int LR_R0 = 2;
-	private static final int LR_R1 = 3;
+	private static void _SEED_Encrypt256(byte[] plain, int p_offset, byte[] cipher, int c_offset, int[] K) {
+		int L0 = _b2i(plain, p_offset + 0) ;
+		int L1 = _b2i(plain, p_offset + 4) ;
+		int R0 = _b2i(plain, p_offset + 8) ;
+		int R1 = _b2i(plain, p_offset +12) ;
+		long T ;
+		
+		T = _SEED_F(R0, R1, K[ 0], K[ 1]) ;	L0 ^= (int)(T >>> 32) ;	L1 ^= (int)T ;	// Round 1
+		T = _SEED_F(L0, L1, K[ 2], K[ 3]) ;	R0 ^= (int)(T >>> 32) ;	R1 ^= (int)T ;	// Round 2
+		T = _SEED_F(R0, R1, K[ 4], K[ 5]) ;	L0 ^= (int)(T >>> 32) ;	L1 ^= (int)T ;	// Round 3
+		T = _SEED_F(L0, L1, K[ 6], K[ 7]) ;	R0 ^= (int)(T >>> 32) ;	R1 ^= (int)T ;	// Round 4
+		T = _SEED_F(R0, R1, K[ 8], K[ 9]) ;	L0 ^= (int)(T >>> 32) ;	L1 ^= (int)T ;	// Round 5
+		T = _SEED_F(L0, L1, K[10], K[11]) ;	R0 ^= (int)(T >>> 32) ;	R1 ^= (int)T ;	// Round 6
+		T = _SEED_F(R0, R1, K[12], K[13]) ;	L0 ^= (int)(T >>> 32) ;	L1 ^= (int)T ;	// Round 7
+		T = _SEED_F(L0, L1, K[14], K[15]) ;	R0 ^= (int)(T >>> 32) ;	R1 ^= (int)T ;	// Round 8
+		T = _SEED_F(R0, R1, K[16], K[17]) ;	L0 ^= (int)(T >>> 32) ;	L1 ^= (int)T ;	// Round 9
+		T = _SEED_F(L0, L1, K[18], K[19]) ;	R0 ^= (int)(T >>> 32) ;	R1 ^= (int)T ;	// Round 10
+		T = _SEED_F(R0, R1, K[20], K[21]) ;	L0 ^= (int)(T >>> 32) ;	L1 ^= (int)T ;	// Round 11
+		T = _SEED_F(L0, L1, K[22], K[23]) ;	R0 ^= (int)(T >>> 32) ;	R1 ^= (int)T ;	// Round 12
+		T = _SEED_F(R0, R1, K[24], K[25]) ;	L0 ^= (int)(T >>> 32) ;	L1 ^= (int)T ;	// Round 13
+		T = _SEED_F(L0, L1, K[26], K[27]) ;	R0 ^= (int)(T >>> 32) ;	R1 ^= (int)T ;	// Round 14
+		T = _SEED_F(R0, R1, K[28], K[29]) ;	L0 ^= (int)(T >>> 32) ;	L1 ^= (int)T ;	// Round 15
+		T = _SEED_F(L0, L1, K[30], K[31]) ;	R0 ^= (int)(T >>> 32) ;	R1 ^= (int)T ;	// Round 16
+		T = _SEED_F(R0, R1, K[32], K[33]) ;	L0 ^= (int)(T >>> 32) ;	L1 ^= (int)T ;	// Round 17
+		T = _SEED_F(L0, L1, K[34], K[35]) ;	R0 ^= (int)(T >>> 32) ;	R1 ^= (int)T ;	// Round 18
+		T = _SEED_F(R0, R1, K[36], K[37]) ;	L0 ^= (int)(T >>> 32) ;	L1 ^= (int)T ;	// Round 19
+		T = _SEED_F(L0, L1, K[38], K[39]) ;	R0 ^= (int)(T >>> 32) ;	R1 ^= (int)T ;	// Round 20
+		T = _SEED_F(R0, R1, K[40], K[41]) ;	L0 ^= (int)(T >>> 32) ;	L1 ^= (int)T ;	// Round 21
+		T = _SEED_F(L0, L1, K[42], K[43]) ;	R0 ^= (int)(T >>> 32) ;	R1 ^= (int)T ;	// Round 22
+		T = _SEED_F(R0, R1, K[44], K[45]) ;	L0 ^= (int)(T >>> 32) ;	L1 ^= (int)T ;	// Round 23
+		T = _SEED_F(L0, L1, K[46], K[47]) ;	R0 ^= (int)(T >>> 32) ;	R1 ^= (int)T ;	// Round 24
+		
+		_i2b(cipher, c_offset+ 0, R0) ;
+		_i2b(cipher, c_offset+ 4, R1) ;
+		_i2b(cipher, c_offset+ 8, L0) ;
+		_i2b(cipher, c_offset+12, L1) ;
+	}
 
 	/**
 	 * block(128 bit) 암호화
@@ -579,23 +722,39 @@ public class SEED {
 	 * @param pdwRoundKey	암호화 Round Key
 	 */
 	private static void _SEED_Encrypt(byte[] plain, int p_offset, byte[] cipher, int c_offset, int[] pdwRoundKey) {
-		int LR[] = { 0, 0, 0, 0} ;	// Iuput/output values at each rounds
-		int K[] = pdwRoundKey;		// Pointer of round keys
-		
-		LR[LR_L0] = _b2i(plain, p_offset + 0, 4) ;
-		LR[LR_L1] = _b2i(plain, p_offset + 4, 4) ;
-		LR[LR_R0] = _b2i(plain, p_offset + 8, 4) ;
-		LR[LR_R1] = _b2i(plain, p_offset +12, 4) ;
-		
-		for(int i = 0; (i+3) < K.length; i += 4) {
-			_SEED_Round(LR, LR_L0, LR_L1, LR_R0, LR_R1, K,  i+0);
-			_SEED_Round(LR, LR_R0, LR_R1, LR_L0, LR_L1, K,  i+2);
+		if (pdwRoundKey.length == 32)	_SEED_Encrypt128(plain, p_offset, cipher, c_offset, pdwRoundKey) ;
+		else							_SEED_Encrypt256(plain, p_offset, cipher, c_offset, pdwRoundKey) ;
+	}
+
+	/**
+	 * 4 block(512 bit) 동시 암호화 (ECB, CTR, CBC 복호화처럼 Block간 의존성이 없는 경우)
+	 * <p>
+	 * 4개 Block의 Round를 교차 수행하여, S-Box 조회가 하나의 긴 의존 사슬이 되지 않도록 한다.
+	 * in과 out이 같은 Buffer여도 된다.
+	 */
+	private static void _SEED_Encrypt4(byte[] in, int i_offset, byte[] out, int o_offset, int[] K) {
+		int aL0 = _b2i(in, i_offset+ 0), aL1 = _b2i(in, i_offset+ 4), aR0 = _b2i(in, i_offset+ 8), aR1 = _b2i(in, i_offset+12) ;
+		int bL0 = _b2i(in, i_offset+16), bL1 = _b2i(in, i_offset+20), bR0 = _b2i(in, i_offset+24), bR1 = _b2i(in, i_offset+28) ;
+		int cL0 = _b2i(in, i_offset+32), cL1 = _b2i(in, i_offset+36), cR0 = _b2i(in, i_offset+40), cR1 = _b2i(in, i_offset+44) ;
+		int dL0 = _b2i(in, i_offset+48), dL1 = _b2i(in, i_offset+52), dR0 = _b2i(in, i_offset+56), dR1 = _b2i(in, i_offset+60) ;
+		long T ;
+		
+		for(int k = 0; k < K.length; k += 4) {
+			T = _SEED_F(aR0, aR1, K[k], K[k+1]) ;	aL0 ^= (int)(T >>> 32) ;	aL1 ^= (int)T ;
+			T = _SEED_F(bR0, bR1, K[k], K[k+1]) ;	bL0 ^= (int)(T >>> 32) ;	bL1 ^= (int)T ;
+			T = _SEED_F(cR0, cR1, K[k], K[k+1]) ;	cL0 ^= (int)(T >>> 32) ;	cL1 ^= (int)T ;
+			T = _SEED_F(dR0, dR1, K[k], K[k+1]) ;	dL0 ^= (int)(T >>> 32) ;	dL1 ^= (int)T ;
+			
+			T = _SEED_F(aL0, aL1, K[k+2], K[k+3]) ;	aR0 ^= (int)(T >>> 32) ;	aR1 ^= (int)T ;
+			T = _SEED_F(bL0, bL1, K[k+2], K[k+3]) ;	bR0 ^= (int)(T >>> 32) ;	bR1 ^= (int)T ;
+			T = _SEED_F(cL0, cL1, K[k+2], K[k+3]) ;	cR0 ^= (int)(T >>> 32) ;	cR1 ^= (int)T ;
+			T = _SEED_F(dL0, dL1, K[k+2], K[k+3]) ;	dR0 ^= (int)(T >>> 32) ;	dR1 ^= (int)T ;
 		}
 		
-		_i2b(cipher, c_offset+ 0, LR[LR_R0], 4) ;
-		_i2b(cipher, c_offset+ 4, LR[LR_R1], 4) ;
-		_i2b(cipher, c_offset+ 8, LR[LR_L0], 4) ;
-		_i2b(cipher, c_offset+12, LR[LR_L1], 4) ;
+		_i2b(out, o_offset+ 0, aR0) ;	_i2b(out, o_offset+ 4, aR1) ;	_i2b(out, o_offset+ 8, aL0) ;	_i2b(out, o_offset+12, aL1) ;
+		_i2b(out, o_offset+16, bR0) ;	_i2b(out, o_offset+20, bR1) ;	_i2b(out, o_offset+24, bL0) ;	_i2b(out, o_offset+28, bL1) ;
+		_i2b(out, o_offset+32, cR0) ;	_i2b(out, o_offset+36, cR1) ;	_i2b(out, o_offset+40, cL0) ;	_i2b(out, o_offset+44, cL1) ;
+		_i2b(out, o_offset+48, dR0) ;	_i2b(out, o_offset+52, dR1) ;	_i2b(out, o_offset+56, dL0) ;	_i2b(out, o_offset+60, dL1) ;
 	}
 
 	private void _blockEncrypt(byte[] plain, int p_offset, byte[] cipher, int c_offset) {
@@ -607,23 +766,89 @@ public class SEED {
 		
 		case CBC :
 					{
-						byte[] temp = new byte[_BLOCK_SIZE] ;
-						_BLOCK_XOR(temp, 0, plain, p_offset, seasoning, 0);
-						_SEED_Encrypt(temp, 0, cipher, c_offset, roundKey) ;
+						_BLOCK_XOR(block_buffer, 0, plain, p_offset, seasoning, 0);
+						_SEED_Encrypt(block_buffer, 0, cipher, c_offset, roundKey) ;
 						System.arraycopy(cipher, c_offset, seasoning, 0, _BLOCK_SIZE);
 					}
 					return ;
 		case CTR :
 					{
-						byte[] temp = new byte[_BLOCK_SIZE] ;
-						_SEED_Encrypt(seasoning, 0, temp, 0, roundKey) ;
-						_BLOCK_XOR(cipher, c_offset, plain, p_offset, temp, 0) ;
+						_SEED_Encrypt(seasoning, 0, block_buffer, 0, roundKey) ;
+						_BLOCK_XOR(cipher, c_offset, plain, p_offset, block_buffer, 0) ;
 						_UpdateCounter(seasoning, 1);
 					}
 					return ;
 		}
 	}
 	
+	private static void _SEED_Decrypt128(byte[] cipher, int c_offset, byte[] plain, int p_offset, int[] K) {
+		int L0 = _b2i(cipher, c_offset + 0) ;
+		int L1 = _b2i(cipher, c_offset + 4) ;
+		int R0 = _b2i(cipher, c_offset + 8) ;
+		int R1 = _b2i(cipher, c_offset +12) ;
+		long T ;
+		
+		T = _SEED_F(R0, R1, K[30], K[31]) ;	L0 ^= (int)(T >>> 32) ;	L1 ^= (int)T ;	// Round 1
+		T = _SEED_F(L0, L1, K[28], K[29]) ;	R0 ^= (int)(T >>> 32) ;	R1 ^= (int)T ;	// Round 2
+		T = _SEED_F(R0, R1, K[26], K[27]) ;	L0 ^= (int)(T >>> 32) ;	L1 ^= (int)T ;	// Round 3
+		T = _SEED_F(L0, L1, K[24], K[25]) ;	R0 ^= (int)(T >>> 32) ;	R1 ^= (int)T ;	// Round 4
+		T = _SEED_F(R0, R1, K[22], K[23]) ;	L0 ^= (int)(T >>> 32) ;	L1 ^= (int)T ;	// Round 5
+		T = _SEED_F(L0, L1, K[20], K[21]) ;	R0 ^= (int)(T >>> 32) ;	R1 ^= (int)T ;	// Round 6
+		T = _SEED_F(R0, R1, K[18], K[19]) ;	L0 ^= (int)(T >>> 32) ;	L1 ^= (int)T ;	// Round 7
+		T = _SEED_F(L0, L1, K[16], K[17]) ;	R0 ^= (int)(T >>> 32) ;	R1 ^= (int)T ;	// Round 8
+		T = _SEED_F(R0, R1, K[14], K[15]) ;	L0 ^= (int)(T >>> 32) ;	L1 ^= (int)T ;	// Round 9
+		T = _SEED_F(L0, L1, K[12], K[13]) ;	R0 ^= (int)(T >>> 32) ;	R1 ^= (int)T ;	// Round 10
+		T = _SEED_F(R0, R1, K[10], K[11]) ;	L0 ^= (int)(T >>> 32) ;	L1 ^= (int)T ;	// Round 11
+		T = _SEED_F(L0, L1, K[ 8], K[ 9]) ;	R0 ^= (int)(T >>> 32) ;	R1 ^= (int)T ;	// Round 12
+		T = _SEED_F(R0, R1, K[ 6], K[ 7]) ;	L0 ^= (int)(T >>> 32) ;	L1 ^= (int)T ;	// Round 13
+		T = _SEED_F(L0, L1, K[ 4], K[ 5]) ;	R0 ^= (int)(T >>> 32) ;	R1 ^= (int)T ;	// Round 14
+		T = _SEED_F(R0, R1, K[ 2], K[ 3]) ;	L0 ^= (int)(T >>> 32) ;	L1 ^= (int)T ;	// Round 15
+		T = _SEED_F(L0, L1, K[ 0], K[ 1]) ;	R0 ^= (int)(T >>> 32) ;	R1 ^= (int)T ;	// Round 16
+		
+		_i2b(plain, p_offset+ 0, R0) ;
+		_i2b(plain, p_offset+ 4, R1) ;
+		_i2b(plain, p_offset+ 8, L0) ;
+		_i2b(plain, p_offset+12, L1) ;
+	}
+
+	private static void _SEED_Decrypt256(byte[] cipher, int c_offset, byte[] plain, int p_offset, int[] K) {
+		int L0 = _b2i(cipher, c_offset + 0) ;
+		int L1 = _b2i(cipher, c_offset + 4) ;
+		int R0 = _b2i(cipher, c_offset + 8) ;
+		int R1 = _b2i(cipher, c_offset +12) ;
+		long T ;
+		
+		T = _SEED_F(R0, R1, K[46], K[47]) ;	L0 ^= (int)(T >>> 32) ;	L1 ^= (int)T ;	// Round 1
+		T = _SEED_F(L0, L1, K[44], K[45]) ;	R0 ^= (int)(T >>> 32) ;	R1 ^= (int)T ;	// Round 2
+		T = _SEED_F(R0, R1, K[42], K[43]) ;	L0 ^= (int)(T >>> 32) ;	L1 ^= (int)T ;	// Round 3
+		T = _SEED_F(L0, L1, K[40], K[41]) ;	R0 ^= (int)(T >>> 32) ;	R1 ^= (int)T ;	// Round 4
+		T = _SEED_F(R0, R1, K[38], K[39]) ;	L0 ^= (int)(T >>> 32) ;	L1 ^= (int)T ;	// Round 5
+		T = _SEED_F(L0, L1, K[36], K[37]) ;	R0 ^= (int)(T >>> 32) ;	R1 ^= (int)T ;	// Round 6
+		T = _SEED_F(R0, R1, K[34], K[35]) ;	L0 ^= (int)(T >>> 32) ;	L1 ^= (int)T ;	// Round 7
+		T = _SEED_F(L0, L1, K[32], K[33]) ;	R0 ^= (int)(T >>> 32) ;	R1 ^= (int)T ;	// Round 8
+		T = _SEED_F(R0, R1, K[30], K[31]) ;	L0 ^= (int)(T >>> 32) ;	L1 ^= (int)T ;	// Round 9
+		T = _SEED_F(L0, L1, K[28], K[29]) ;	R0 ^= (int)(T >>> 32) ;	R1 ^= (int)T ;	// Round 10
+		T = _SEED_F(R0, R1, K[26], K[27]) ;	L0 ^= (int)(T >>> 32) ;	L1 ^= (int)T ;	// Round 11
+		T = _SEED_F(L0, L1, K[24], K[25]) ;	R0 ^= (int)(T >>> 32) ;	R1 ^= (int)T ;	// Round 12
+		T = _SEED_F(R0, R1, K[22], K[23]) ;	L0 ^= (int)(T >>> 32) ;	L1 ^= (int)T ;	// Round 13
+		T = _SEED_F(L0, L1, K[20], K[21]) ;	R0 ^= (int)(T >>> 32) ;	R1 ^= (int)T ;	// Round 14
+		T = _SEED_F(R0, R1, K[18], K[19]) ;	L0 ^= (int)(T >>> 32) ;	L1 ^= (int)T ;	// Round 15
+		T = _SEED_F(L0, L1, K[16], K[17]) ;	R0 ^= (int)(T >>> 32) ;	R1 ^= (int)T ;	// Round 16
+		T = _SEED_F(R0, R1, K[14], K[15]) ;	L0 ^= (int)(T >>> 32) ;	L1 ^= (int)T ;	// Round 17
+		T = _SEED_F(L0, L1, K[12], K[13]) ;	R0 ^= (int)(T >>> 32) ;	R1 ^= (int)T ;	// Round 18
+		T = _SEED_F(R0, R1, K[10], K[11]) ;	L0 ^= (int)(T >>> 32) ;	L1 ^= (int)T ;	// Round 19
+		T = _SEED_F(L0, L1, K[ 8], K[ 9]) ;	R0 ^= (int)(T >>> 32) ;	R1 ^= (int)T ;	// Round 20
+		T = _SEED_F(R0, R1, K[ 6], K[ 7]) ;	L0 ^= (int)(T >>> 32) ;	L1 ^= (int)T ;	// Round 21
+		T = _SEED_F(L0, L1, K[ 4], K[ 5]) ;	R0 ^= (int)(T >>> 32) ;	R1 ^= (int)T ;	// Round 22
+		T = _SEED_F(R0, R1, K[ 2], K[ 3]) ;	L0 ^= (int)(T >>> 32) ;	L1 ^= (int)T ;	// Round 23
+		T = _SEED_F(L0, L1, K[ 0], K[ 1]) ;	R0 ^= (int)(T >>> 32) ;	R1 ^= (int)T ;	// Round 24
+		
+		_i2b(plain, p_offset+ 0, R0) ;
+		_i2b(plain, p_offset+ 4, R1) ;
+		_i2b(plain, p_offset+ 8, L0) ;
+		_i2b(plain, p_offset+12, L1) ;
+	}
+
 	/**
 	 * block(128 bit) 복호화
 	 * @param cipher		복호화할 cipher(입력 암호문)
@@ -633,25 +858,41 @@ public class SEED {
 	 * @param pdwRoundKey	복호화 Round Key
 	 */
 	private static void _SEED_Decrypt(byte[] cipher, int c_offset, byte[] plain, int p_offset, int[] pdwRoundKey) {
-		int LR[] = new int[4];				// Iuput/output values at each rounds
-		int K[] = pdwRoundKey;				// Pointer of round keys
-	
-		LR[LR_L0] = _b2i(cipher, c_offset + 0, 4) ;
-		LR[LR_L1] = _b2i(cipher, c_offset + 4, 4) ;
-		LR[LR_R0] = _b2i(cipher, c_offset + 8, 4) ;
-		LR[LR_R1] = _b2i(cipher, c_offset +12, 4) ;
+		if (pdwRoundKey.length == 32)	_SEED_Decrypt128(cipher, c_offset, plain, p_offset, pdwRoundKey) ;
+		else							_SEED_Decrypt256(cipher, c_offset, plain, p_offset, pdwRoundKey) ;
+	}
 	
-		for(int i = K.length; i > 3; i -= 4) {
-			_SEED_Round(LR, LR_L0, LR_L1, LR_R0, LR_R1, K, i-2);
-			_SEED_Round(LR, LR_R0, LR_R1, LR_L0, LR_L1, K, i-4);
+	/**
+	 * 4 block(512 bit) 동시 복호화 (ECB, CTR, CBC 복호화처럼 Block간 의존성이 없는 경우)
+	 * <p>
+	 * 4개 Block의 Round를 교차 수행하여, S-Box 조회가 하나의 긴 의존 사슬이 되지 않도록 한다.
+	 * in과 out이 같은 Buffer여도 된다.
+	 */
+	private static void _SEED_Decrypt4(byte[] in, int i_offset, byte[] out, int o_offset, int[] K) {
+		int aL0 = _b2i(in, i_offset+ 0), aL1 = _b2i(in, i_offset+ 4), aR0 = _b2i(in, i_offset+ 8), aR1 = _b2i(in, i_offset+12) ;
+		int bL0 = _b2i(in, i_offset+16), bL1 = _b2i(in, i_offset+20), bR0 = _b2i(in, i_offset+24), bR1 = _b2i(in, i_offset+28) ;
+		int cL0 = _b2i(in, i_offset+32), cL1 = _b2i(in, i_offset+36), cR0 = _b2i(in, i_offset+40), cR1 = _b2i(in, i_offset+44) ;
+		int dL0 = _b2i(in, i_offset+48), dL1 = _b2i(in, i_offset+52), dR0 = _b2i(in, i_offset+56), dR1 = _b2i(in, i_offset+60) ;
+		long T ;
+		
+		for(int k = K.length - 2; k > 0; k -= 4) {
+			T = _SEED_F(aR0, aR1, K[k], K[k+1]) ;	aL0 ^= (int)(T >>> 32) ;	aL1 ^= (int)T ;
+			T = _SEED_F(bR0, bR1, K[k], K[k+1]) ;	bL0 ^= (int)(T >>> 32) ;	bL1 ^= (int)T ;
+			T = _SEED_F(cR0, cR1, K[k], K[k+1]) ;	cL0 ^= (int)(T >>> 32) ;	cL1 ^= (int)T ;
+			T = _SEED_F(dR0, dR1, K[k], K[k+1]) ;	dL0 ^= (int)(T >>> 32) ;	dL1 ^= (int)T ;
+			
+			T = _SEED_F(aL0, aL1, K[k-2], K[k-1]) ;	aR0 ^= (int)(T >>> 32) ;	aR1 ^= (int)T ;
+			T = _SEED_F(bL0, bL1, K[k-2], K[k-1]) ;	bR0 ^= (int)(T >>> 32) ;	bR1 ^= (int)T ;
+			T = _SEED_F(cL0, cL1, K[k-2], K[k-1]) ;	cR0 ^= (int)(T >>> 32) ;	cR1 ^= (int)T ;
+			T = _SEED_F(dL0, dL1, K[k-2], K[k-1]) ;	dR0 ^= (int)(T >>> 32) ;	dR1 ^= (int)T ;
 		}
-	
-		_i2b(plain, p_offset+ 0, LR[LR_R0], 4) ;
-		_i2b(plain, p_offset+ 4, LR[LR_R1], 4) ;
-		_i2b(plain, p_offset+ 8, LR[LR_L0], 4) ;
-		_i2b(plain, p_offset+12, LR[LR_L1], 4) ;
+		
+		_i2b(out, o_offset+ 0, aR0) ;	_i2b(out, o_offset+ 4, aR1) ;	_i2b(out, o_offset+ 8, aL0) ;	_i2b(out, o_offset+12, aL1) ;
+		_i2b(out, o_offset+16, bR0) ;	_i2b(out, o_offset+20, bR1) ;	_i2b(out, o_offset+24, bL0) ;	_i2b(out, o_offset+28, bL1) ;
+		_i2b(out, o_offset+32, cR0) ;	_i2b(out, o_offset+36, cR1) ;	_i2b(out, o_offset+40, cL0) ;	_i2b(out, o_offset+44, cL1) ;
+		_i2b(out, o_offset+48, dR0) ;	_i2b(out, o_offset+52, dR1) ;	_i2b(out, o_offset+56, dL0) ;	_i2b(out, o_offset+60, dL1) ;
 	}
-	
+
 	/**
 	 * block(128 bit) 복호화
 	 * @param cipher		복호화할 cipher(입력 암호문)
@@ -667,127 +908,383 @@ public class SEED {
 					return ;
 		case CBC : 
 					{
+						System.arraycopy(cipher, c_offset, block_buffer, 0, _BLOCK_SIZE);	// cipher와 plain이 같은 Buffer일 수 있음
 						_SEED_Decrypt(cipher, c_offset, plain, p_offset, roundKey) ;
 						_BLOCK_XOR(plain, p_offset, seasoning, 0);
-						System.arraycopy(cipher, c_offset, seasoning, 0, _BLOCK_SIZE);
+						System.arraycopy(block_buffer, 0, seasoning, 0, _BLOCK_SIZE);
 					}
 					return ;
 		case CTR : 
 					{
-						_SEED_Encrypt(seasoning, 0, plain, p_offset, roundKey) ;
-						_BLOCK_XOR(plain, p_offset, cipher, c_offset);
+						_SEED_Encrypt(seasoning, 0, block_buffer, 0, roundKey) ;
+						_BLOCK_XOR(plain, p_offset, cipher, c_offset, block_buffer, 0);
 						_UpdateCounter(seasoning, 1);
 					}
 					return ;
 		}
 	}
 	
-	private static byte[] PaddingZero(byte[] data, int data_length, int block_size) {
-		int padding_count = block_size - (data_length % block_size) ;
+	/**
+	 * Scalar 엔진 (4 Block씩 교차 수행하고, 나머지는 1 Block씩)
+	 */
+	static final SEEDEngine _SCALAR_ENGINE = new SEEDEngine() {
+		@Override
+		public void encrypt(byte[] in, int i_offset, byte[] out, int o_offset, int blocks, int[] roundKey) {
+			int length = blocks * _BLOCK_SIZE, i = 0 ;
+			for(; i + _MULTI_BLOCK_SIZE <= length; i += _MULTI_BLOCK_SIZE)
+				_SEED_Encrypt4(in, i_offset + i, out, o_offset + i, roundKey) ;
+			for(; i < length; i += _BLOCK_SIZE)
+				_SEED_Encrypt(in, i_offset + i, out, o_offset + i, roundKey) ;
+		}
+
+		@Override
+		public void decrypt(byte[] in, int i_offset, byte[] out, int o_offset, int blocks, int[] roundKey) {
+			int length = blocks * _BLOCK_SIZE, i = 0 ;
+			for(; i + _MULTI_BLOCK_SIZE <= length; i += _MULTI_BLOCK_SIZE)
+				_SEED_Decrypt4(in, i_offset + i, out, o_offset + i, roundKey) ;
+			for(; i < length; i += _BLOCK_SIZE)
+				_SEED_Decrypt(in, i_offset + i, out, o_offset + i, roundKey) ;
+		}
+	} ;
+	
+	/**
+	 * 여러 Block을 처리할 엔진
+	 * 기본은 Scalar 엔진이고, <code>-Dzeed.vector=true</code>이면 SEEDVectorEngine을 쓴다.
+	 * (Vector 엔진은 CPU, JDK에 따라 Scalar 엔진보다 느리기도 하므로 직접 측정해 보고 켠다.)
+	 * JDK 17 미만이거나 jdk.incubator.vector Module이 없으면 켜도 Scalar 엔진을 쓴다.
+	 */
+	static final SEEDEngine _ENGINE = "true".equalsIgnoreCase(System.getProperty("zeed.vector")) ? _LoadEngine() : _SCALAR_ENGINE ;
+	
+	private static SEEDEngine _LoadEngine() {
+		SEEDEngine engine = _LoadVectorEngine() ;
+		return (engine == null) ? _SCALAR_ENGINE : engine ;
+	}
+	
+	/**
+	 * @return SEEDVectorEngine (쓸 수 없으면 null)
+	 */
+	static SEEDEngine _LoadVectorEngine() {
+		try {
+			// META-INF/versions/17 에만 있음
+			Class<?> clazz = Class.forName("zeed.SEEDVectorEngine") ;
+			if (!(Boolean)clazz.getDeclaredMethod("isSupported").invoke(null))	return null ;
+			return (SEEDEngine)clazz.getDeclaredConstructor().newInstance() ;
+		} catch (Exception | LinkageError e) {
+			return null ;
+		}
+	}
+	
+	/**
+	 * 여러 block 암호화 (length는 16의 배수)
+	 * ECB, CTR은 엔진으로 여러 Block을 묶어서 처리한다. (CBC 암호화는 앞 Block에 의존하므로 1 Block씩)
+	 * @param plain			암호화할 plain (입력 평문)	
+	 * @param p_offset	 	plain offset
+	 * @param cipher		암호화된 cipher (출력 암호문)
+	 * @param c_offset		cipher offset
+	 * @param length		처리할 길이
+	 */
+	void _bulkEncrypt(byte[] plain, int p_offset, byte[] cipher, int c_offset, int length) {
+		if (_isParallel(length, true)) {
+			SEEDParallel.encrypt(this, parallel_executor, plain, p_offset, cipher, c_offset, length) ;
+			return ;
+		}
 		
-		byte[] ret = new byte[data_length + padding_count] ;
+		switch(this.mode)
+		{
+		case ECB :
+					_ENGINE.encrypt(plain, p_offset, cipher, c_offset, length / _BLOCK_SIZE, roundKey) ;
+					return ;
+		case CBC :
+					for(int i = 0; i < length; i += _BLOCK_SIZE)
+						_blockEncrypt(plain, p_offset + i, cipher, c_offset + i) ;
+					return ;
+		case CTR :
+					_bulkCTR(plain, p_offset, cipher, c_offset, length) ;
+					return ;
+		}
+	}
+	
+	/**
+	 * 여러 block 복호화 (length는 16의 배수)
+	 * ECB, CBC, CTR 모두 엔진으로 여러 Block을 묶어서 처리한다.
+	 * @param cipher		복호화할 cipher(입력 암호문)
+	 * @param c_offset		cipher offset
+	 * @param plain 		복호화된 plain(출력 평문)
+	 * @param p_offset	 	plain offset
+	 * @param length		처리할 길이
+	 */
+	void _bulkDecrypt(byte[] cipher, int c_offset, byte[] plain, int p_offset, int length) {
+		if (_isParallel(length, false)) {
+			SEEDParallel.decrypt(this, parallel_executor, cipher, c_offset, plain, p_offset, length) ;
+			return ;
+		}
 		
-		System.arraycopy(data, 0, ret, 0, data_length);
-		for(int i = 0; i < padding_count; ++i)
-			ret[data_length + i] = (byte)0x00 ;	// All 0x00 Padding
+		switch(this.mode)
+		{
+		case ECB :
+					_ENGINE.decrypt(cipher, c_offset, plain, p_offset, length / _BLOCK_SIZE, roundKey) ;
+					return ;
+		case CBC :
+					// multi_buffer = [ 앞 암호문 Block(seasoning) | 이번 암호문 Block들 ] (cipher와 plain이 같은 Buffer일 수 있음)
+					byte[] multi_buffer = _multiBuffer() ;
+					for(int i = 0; i < length; i += _STREAM_BLOCK * _BLOCK_SIZE) {
+						int size = Math.min(length - i, _STREAM_BLOCK * _BLOCK_SIZE) ;
+						System.arraycopy(seasoning, 0, multi_buffer, 0, _BLOCK_SIZE) ;
+						System.arraycopy(cipher, c_offset + i, multi_buffer, _BLOCK_SIZE, size) ;
+						_ENGINE.decrypt(multi_buffer, _BLOCK_SIZE, plain, p_offset + i, size / _BLOCK_SIZE, roundKey) ;
+						for(int j = 0; j < size; j += _BLOCK_SIZE)
+							_BLOCK_XOR(plain, p_offset + i + j, multi_buffer, j) ;
+						System.arraycopy(multi_buffer, size, seasoning, 0, _BLOCK_SIZE) ;
+					}
+					return ;
+		case CTR :
+					_bulkCTR(cipher, c_offset, plain, p_offset, length) ;
+					return ;
+		}
+	}
+	
+	/**
+	 * 병렬 처리 대상인가?
+	 * ECB는 Block간 의존성이 없고, CTR은 Block마다 Counter를 계산할 수 있으므로 병렬 처리가 가능하다.
+	 * CBC 복호화는 i번째 Block이 i, i-1번째 암호문 Block만 필요하므로 병렬 처리가 가능하다.
+	 */
+	private boolean _isParallel(int length, boolean isEncrypt) {
+		if (parallel_executor == null)			return false ;
+		if (length < parallel_threshold)		return false ;
 		
+		switch(mode)
+		{
+		case ECB :	return true ;
+		case CBC :	return !isEncrypt ;
+		case CTR :	return true ;
+		}
+		return false ;
+	}
+	
+	/**
+	 * 같은 설정(mode, bit, padding, option, iv, ctr)과 roundKey로 복사본 만들기
+	 * roundKey, iv, ctr은 바뀌지 않으므로 공유하고, 작업용 Buffer는 따로 갖는다.
+	 */
+	SEED _copy() {
+		SEED ret = new SEED(mode, bit, padding) ;
+		ret._option = _option ;
+		ret.roundKey = roundKey ;
+		ret.iv = iv ;
+		ret.ctr = ctr ;
 		return ret ;
 	}
 	
 	/**
-	 * 128bit(16Byte)단위로 맞추기(padding) 3번째 방식
-	 * @param data 맞출 Binary Data
-	 * @return 맞춘 Binary Data
+	 * 키와 iv(CBC) / ctr(CTR) 확인값 만들기 (이어서 처리할 때 같은 SEED인지 확인용)
+	 * 0 Block을 암호화한 값에 iv / ctr을 XOR하여 한번 더 암호화한다. (iv / ctr이 없으면 0 Block 암호화 값)
+	 * @return 16 Byte 확인값
 	 */
-	private static byte[] _PaddingPKCS7(byte[] data, int data_length, int block_size) {
-		int padding_count = block_size - (data_length % block_size) ;
-		
-		byte[] ret = new byte[data_length + padding_count] ;
-		
-		System.arraycopy(data, 0, ret, 0, data_length);
-		for(int i = 0; i < padding_count; ++i)
-			ret[data_length + i] = (byte)padding_count ;
-		
+	byte[] _checkValue() {
+		byte[] ret = new byte[_BLOCK_SIZE] ;
+		_SEED_Encrypt(ret, 0, ret, 0, roundKey) ;
+		byte[] vector = (mode == Mode.CBC) ? iv : (mode == Mode.CTR) ? ctr : new byte[0] ;
+		if (vector.length != 0) {
+			_BLOCK_XOR(ret, 0, vector, 0) ;
+			_SEED_Encrypt(ret, 0, ret, 0, roundKey) ;
+		}
 		return ret ;
 	}
+
+	/**
+	 * 병렬 처리용 복사본 만들기
+	 * roundKey는 공유하고, seasoning은 offset 위치에서 시작하도록 한다.
+	 * @param in		처리할 Data (CBC 복호화시 앞 암호문 Block)
+	 * @param i_offset	in offset
+	 * @param offset	시작위치(16의 배수)
+	 */
+	SEED _fork(byte[] in, int i_offset, int offset) {
+		if (mode == Mode.CBC && offset != 0)
+			return _fork(offset, Arrays.copyOfRange(in, i_offset + offset - _BLOCK_SIZE, i_offset + offset)) ;
+		return _fork(offset, null) ;
+	}
 	
-	private static byte[] _PaddingBit(byte[] data, int data_length, int block_size) {
-		int padding_count = block_size - (data_length % block_size) ;
-		
-		byte[] ret = new byte[data_length + padding_count] ;
-		
-		System.arraycopy(data, 0, ret, 0, data_length);
-		for(int i = 0; i < padding_count; ++i) {
-			if(i == 0)
-				ret[data_length + i] = (byte)0x80 ;	// 첫번째 Padding만 0x80
-			else
-				ret[data_length + i] = (byte)0x00 ;	// 나머지 0x00 Padding
+	/**
+	 * 병렬 처리용 복사본 만들기 (2GB 이상 Data용)
+	 * @param offset	시작위치(16의 배수)
+	 * @param previous	CBC 복호화시 offset 바로 앞 암호문 Block (offset이 0이면 null)
+	 */
+	SEED _fork(long offset, byte[] previous) {
+		SEED ret = _copy() ;
+		ret.isEncrypt = isEncrypt ;
+		switch(mode)
+		{
+		case ECB :
+					break ;
+		case CBC :
+					ret.seasoning = (previous == null) ? seasoning.clone() : previous ;
+					break ;
+		case CTR :
+					ret.seasoning = seasoning.clone() ;
+					_UpdateCounter(ret.seasoning, offset / _BLOCK_SIZE) ;
+					break ;
 		}
-		
 		return ret ;
 	}
 	
-	private static byte[] _PaddingX923(byte[] data, int data_length, int block_size) {
+	/**
+	 * 병렬 처리한 만큼 seasoning을 옮기기 (이후 Block을 이어서 처리할 수 있도록)
+	 * in과 out이 같은 Buffer일 수 있으므로, 처리하기 전에 불러야 한다.
+	 * @param in		처리할 Data (CBC 복호화시 마지막 암호문 Block)
+	 * @param i_offset	in offset
+	 * @param length	처리할 길이(16의 배수)
+	 */
+	void _advance(byte[] in, int i_offset, int length) {
+		_advance(length, in, i_offset + length - _BLOCK_SIZE) ;
+	}
+	
+	/**
+	 * 병렬 처리한 만큼 seasoning을 옮기기 (2GB 이상 Data용)
+	 * @param length	처리할 길이(16의 배수)
+	 * @param last		CBC 복호화시 마지막 암호문 Block
+	 * @param l_offset	last offset
+	 */
+	void _advance(long length, byte[] last, int l_offset) {
+		switch(mode)
+		{
+		case ECB :
+					break ;
+		case CBC :
+					System.arraycopy(last, l_offset, seasoning, 0, _BLOCK_SIZE) ;
+					break ;
+		case CTR :
+					_UpdateCounter(seasoning, length / _BLOCK_SIZE) ;
+					break ;
+		}
+	}
+	
+	/**
+	 * Multi Block 임시 Buffer (요청마다 만드는 SEED가 쓰지도 않을 Buffer를 미리 만들지 않도록 처음 쓸 때 만든다.)
+	 */
+	private byte[] _multiBuffer() {
+		if (multi_buffer == null)	multi_buffer = new byte[(_STREAM_BLOCK + 1) * _BLOCK_SIZE] ;
+		return multi_buffer ;
+	}
+	
+	/**
+	 * CTR Key Stream을 여러 Block씩 만들어 XOR하기 (암/복호화 동일)
+	 */
+	private void _bulkCTR(byte[] in, int i_offset, byte[] out, int o_offset, int length) {
+		byte[] multi_buffer = _multiBuffer() ;
+		for(int i = 0; i < length; i += _STREAM_BLOCK * _BLOCK_SIZE) {
+			int size = Math.min(length - i, _STREAM_BLOCK * _BLOCK_SIZE) ;
+			for(int j = 0; j < size; j += _BLOCK_SIZE) {
+				System.arraycopy(seasoning, 0, multi_buffer, j, _BLOCK_SIZE) ;
+				_UpdateCounter(seasoning, 1);
+			}
+			_ENGINE.encrypt(multi_buffer, 0, multi_buffer, 0, size / _BLOCK_SIZE, roundKey) ;
+			for(int j = 0; j < size; j += _BLOCK_SIZE)
+				_BLOCK_XOR(out, o_offset + i + j, in, i_offset + i + j, multi_buffer, j) ;
+		}
+	}
+	
+	private static byte[] PaddingZero(byte[] data, int data_length, int block_size) {
 		int padding_count = block_size - (data_length % block_size) ;
 		
 		byte[] ret = new byte[data_length + padding_count] ;
 		
 		System.arraycopy(data, 0, ret, 0, data_length);
 		for(int i = 0; i < padding_count; ++i)
-			ret[data_length + i] = (byte)0x00 ;		// 나머지 0x00 Padding
-		ret[ret.length-1] = (byte)padding_count ;	// 마지막만 padding_count
+			ret[data_length + i] = (byte)0x00 ;	// All 0x00 Padding
 		
 		return ret ;
 	}
 	
-	private byte[] Padding(byte[] data, int data_length, int block_size) {
+	/**
+	 * 128bit(16Byte)단위로 맞추기(padding) 3번째 방식
+	 * 마지막 Block만 맞춘다. (앞의 온전한 Block들은 복사하지 않고 바로 암호화한다.)
+	 * @param data			맞출 Binary Data
+	 * @param data_offset	마지막 Block 시작위치
+	 * @param data_length	마지막 Block 길이 (16 미만)
+	 * @param block			맞춘 Block을 쓸 Buffer (16 Byte, data와 같은 위치여도 된다.)
+	 * @param b_offset		block offset
+	 */
+	private static void _PaddingPKCS7(byte[] data, int data_offset, int data_length, byte[] block, int b_offset) {
+		int padding_count = _BLOCK_SIZE - data_length ;
+		
+		System.arraycopy(data, data_offset, block, b_offset, data_length);
+		Arrays.fill(block, b_offset + data_length, b_offset + _BLOCK_SIZE, (byte)padding_count) ;
+	}
+	
+	private static void _PaddingBit(byte[] data, int data_offset, int data_length, byte[] block, int b_offset) {
+		System.arraycopy(data, data_offset, block, b_offset, data_length);
+		block[b_offset + data_length] = (byte)0x80 ;											// 첫번째 Padding만 0x80
+		Arrays.fill(block, b_offset + data_length + 1, b_offset + _BLOCK_SIZE, (byte)0x00) ;	// 나머지 0x00 Padding
+	}
+	
+	private static void _PaddingX923(byte[] data, int data_offset, int data_length, byte[] block, int b_offset) {
+		int padding_count = _BLOCK_SIZE - data_length ;
+		
+		System.arraycopy(data, data_offset, block, b_offset, data_length);
+		Arrays.fill(block, b_offset + data_length, b_offset + _BLOCK_SIZE - 1, (byte)0x00) ;	// 나머지 0x00 Padding
+		block[b_offset + _BLOCK_SIZE - 1] = (byte)padding_count ;								// 마지막만 padding_count
+	}
+	
+	/**
+	 * 마지막 Block(16 Byte 미만)을 Padding하여 block에 쓰기
+	 */
+	void _PaddingLast(byte[] data, int data_offset, int data_length, byte[] block, int b_offset) {
 		switch(this.padding) {
-		case BIT 	: return _PaddingBit(data, data_length, block_size) ;
-		case PKCS7	: return _PaddingPKCS7(data, data_length, block_size) ;
-		case X923	: return _PaddingX923(data, data_length, block_size) ;
+		case BIT 	: _PaddingBit(data, data_offset, data_length, block, b_offset) ;	return ;
+		case PKCS7	: _PaddingPKCS7(data, data_offset, data_length, block, b_offset) ;	return ;
+		case X923	: _PaddingX923(data, data_offset, data_length, block, b_offset) ;	return ;
 		default		: throw new ZEEDException(Error.CANNOT_SUPPORT_PADDING) ;
 		}
 	}
 	
 	private static void _BLOCK_XOR(byte[] data, int data_offset, byte[] value, int value_offset) {
-		for(int i = 0; i < _BLOCK_SIZE; ++i)
-			data[data_offset + i] ^= value[value_offset + i] ;
+		_LONG.set(data, data_offset + 0, (long)_LONG.get(data, data_offset + 0) ^ (long)_LONG.get(value, value_offset + 0)) ;
+		_LONG.set(data, data_offset + 8, (long)_LONG.get(data, data_offset + 8) ^ (long)_LONG.get(value, value_offset + 8)) ;
 	}
 
 	private static void _BLOCK_XOR(byte[] data, int data_offset, byte[] value1, int value1_offset, byte[] value2, int value2_offset) {
-		for(int i = 0; i < _BLOCK_SIZE; ++i)
-			data[data_offset + i] = (byte)(value1[value1_offset + i] ^ value2[value2_offset + i]);
+		_LONG.set(data, data_offset + 0, (long)_LONG.get(value1, value1_offset + 0) ^ (long)_LONG.get(value2, value2_offset + 0)) ;
+		_LONG.set(data, data_offset + 8, (long)_LONG.get(value1, value1_offset + 8) ^ (long)_LONG.get(value2, value2_offset + 8)) ;
 	}
 	
-	private static void _UpdateCounter(byte[] buffer, int nIncreaseValue) {
-		int counter = nIncreaseValue ;
-		for(int i = buffer.length-1; counter != 0 && i >= 0; --i) {
-			counter += (buffer[i] & 0xFF) ;
-			buffer[i] = (byte)(counter & 0xFF) ;
-			counter = counter >>> 8 ;
-		}
+	/**
+	 * 128bit Counter 증가 (하위 64bit에 더하고, 넘치면 상위 64bit로 올린다.)
+	 * @param buffer			16 Byte Counter
+	 * @param nIncreaseValue	증가값 (unsigned)
+	 */
+	private static void _UpdateCounter(byte[] buffer, long nIncreaseValue) {
+		long low = (long)_LONG.get(buffer, 8) ;
+		long sum = low + nIncreaseValue ;
+		_LONG.set(buffer, 8, sum) ;
+		if (Long.compareUnsigned(sum, low) < 0)
+			_LONG.set(buffer, 0, (long)_LONG.get(buffer, 0) + 1) ;
 	}
 
 	/**
 	 * 사용자 비밀번호을 넣기
+	 * 확장된 키는 SEEDKeyCache.shared()에 두고 다시 쓴다.
 	 * @param userKey	SEED.SEED_128(Default)이면 16 Byte를 SEED.SEED_256이면 32 Byte를 넣는다.
 	 */
 	public void setUserKey(byte[] userKey) {
-		if (userKey.length == 0)				throw new ZEEDException(Error.KEY_LENGTH, "userKey length is zero") ;
-		if (userKey.length != this.bit.bit()/8)	throw new ZEEDException(Error.KEY_LENGTH, "userKey length != " + (this.bit.bit()/8)) ;
-
-		this.roundKey = _getRoundKey(userKey);
+		setKey(SEEDKeyCache.shared().get(this.bit, userKey)) ;
 	}
 
 	/**
 	 * 사용자 비밀번호을 넣기(내부적으로 All Zero Padding을 한다.)
+	 * 확장된 키는 SEEDKeyCache.shared()에 두고 다시 쓴다.
 	 * @param userKey	비밀번호를 1 ~ 16자리(SEED_256이면 32자리까지) ASCII만 넣는다.  
 	 */
 	public void setUserKey(String userKey) {
-		if (userKey.length() == 0)					throw new ZEEDException(Error.KEY_LENGTH, "userKey length is zero") ;
-		if (userKey.length() > this.bit.bit()/8)	throw new ZEEDException(Error.KEY_LENGTH, "userKey length > " + (this.bit.bit()/8)) ;
+		setKey(SEEDKeyCache.shared().get(this.bit, userKey)) ;
+	}
+	
+	/**
+	 * 미리 확장해 둔 키 넣기 (RoundKey를 다시 만들지 않는다.)
+	 * @param key	SEEDKey (bit가 같아야 한다.)
+	 */
+	public void setKey(SEEDKey key) {
+		if (key.bit() != this.bit)	throw new ZEEDException(Error.KEY_LENGTH, "key bit != " + this.bit.bit()) ;
 
-		setUserKey(_GetKeyBytes(userKey, this.bit.bit()/8)) ;
+		this.roundKey = key.roundKey() ;
 	}
 	
 	/**
@@ -798,8 +1295,8 @@ public class SEED {
 	public void init(Action action)
 	{
 		this.isEncrypt = (action == Action.ENCRYPT) ;
-		this.remain_data = null ;
-		this.ret_binary.clear() ;
+		this.remain_size = -1 ;
+		this.ret_size = 0 ;
 		switch(this.mode)
 		{
 		case ECB :
@@ -830,9 +1327,14 @@ public class SEED {
 	 * @param data_size	추가할 Data 길이
 	 */
 	public void append(byte[] data, int data_size) {
-		byte[] ret = process(data, data_size) ;
-		for(byte b : ret)
-			ret_binary.add(b) ;
+		if (roundKey.length == 0)	throw new ZEEDException(Error.KEY_LENGTH, "userKey length is zero") ;
+		
+		if (data_size <= 0)			return ;
+		
+		int size = getProcessOutputSize(data_size) ;
+		if (ret_binary.length < size)
+			ret_binary = Arrays.copyOf(ret_binary, Math.max(size, ret_binary.length * 2)) ;
+		ret_size += _process(data, 0, data_size, ret_binary, ret_size) ;
 	}
 	
 	/**
@@ -841,9 +1343,7 @@ public class SEED {
 	 * @param data		추가할 Data
 	 */
 	public void append(byte[] data) {
-		byte[] ret = process(data, data.length) ;
-		for(byte b : ret)
-			ret_binary.add(b) ;
+		append(data, data.length) ;
 	}
 	
 	/**
@@ -858,103 +1358,118 @@ public class SEED {
 		
 		if (data_size <= 0)			return new byte[0] ;
 		
-		if(remain_data == null)
-			remain_data = new ArrayList<Byte>();
+		byte[] ret = new byte[getProcessOutputSize(data_size)] ;
+		process(data, 0, data_size, ret, 0) ;
+		return ret ;
+	}
+	
+	/**
+	 * 암/복호화을 반복적으로 하기 (결과를 out에 쓴다.)
+	 * init()를 먼저 한 후, process()를 반복적으로 호출하고, 반드시 finish()로 마무리한다. 
+	 * out은 getProcessOutputSize(data_size) 이상 남아 있어야 하고, data와 겹치면 안 된다.
+	 * @param data		암/복호화할 Data
+	 * @param d_offset	data offset
+	 * @param data_size	암/복호화할 Data 길이
+	 * @param out		암/복호화된 결과를 쓸 Buffer
+	 * @param o_offset	out offset
+	 * @return out에 쓴 길이
+	 */
+	public int process(byte[] data, int d_offset, int data_size, byte[] out, int o_offset) {
+		if (roundKey.length == 0)	throw new ZEEDException(Error.KEY_LENGTH, "userKey length is zero") ;
+		
+		if (data_size <= 0)			return 0 ;
 		
-		if (isEncrypt) {
-			byte[] ret = new byte[((remain_data.size() + data_size) / _BLOCK_SIZE) * _BLOCK_SIZE] ;
-			
-			if(ret.length == 0) {	// 한 Block이 못 되면.
-				for(int i = 0; i < data_size; ++i)
-					remain_data.add(data[i]) ;
-				return ret ;
-			}
-			
-			int r_index = 0, d_index = 0 ;
-			byte[] temp = new byte[_BLOCK_SIZE] ;
-			if(remain_data.size() != 0) {
-				int i = 0 ;
-				for(byte b : remain_data)
-					temp[i++] = b ;
-
-				d_index = _BLOCK_SIZE - remain_data.size() ;
-				System.arraycopy(data, 0, temp, remain_data.size(), d_index);
-			
-				_blockEncrypt(temp, 0, ret, 0) ;
-				r_index += _BLOCK_SIZE ;
-			}
-				
-			for(; d_index + _BLOCK_SIZE <= data_size; d_index += _BLOCK_SIZE, r_index += _BLOCK_SIZE)
-				_blockEncrypt(data, d_index, ret, r_index) ;
-			
-			remain_data.clear() ;
-			for(int i = d_index; i < data_size; ++i)
-				remain_data.add(data[i]) ;
-			
-			if(ret_binary == null)		return ret ;
-			if(ret_binary.size() == 0)	return ret ;
-			
-			///////////////////////////////////////////////////////////
-			// return해야할 ret_binary + 이번 ret 을 합하여 Return
-			{
-				byte[] ret_buf = new byte[ret_binary.size() + ret.length] ;
-				int r = 0; 
-				for(byte b : ret_binary)	ret_buf[r++] = b ;
-				System.arraycopy(ret, 0, ret_buf, r, ret.length) ;
-				ret_binary.clear() ;
-				
-				return ret_buf ;
-			}
+		int out_size = getProcessOutputSize(data_size) ;
+		if (out.length - o_offset < out_size)	throw new ZEEDException(Error.OUTPUT_LENGTH, "output length < " + out_size) ;
+		
+		///////////////////////////////////////////////////////////
+		// return해야할 ret_binary 를 먼저 쓴다.
+		System.arraycopy(ret_binary, 0, out, o_offset, ret_size) ;
+		int r_index = o_offset + ret_size ;
+		ret_size = 0 ;
+		
+		return r_index + _process(data, d_offset, data_size, out, r_index) - o_offset ;
+	}
+	
+	/**
+	 * [ remain_data | data ] 를 Block 단위로 암/복호화해서 out에 쓰고, 나머지는 remain_data에 남긴다.
+	 * 암호화는 16 Byte 미만, 복호화는 마지막(Padding) Block을 위해 16 ~ 31 Byte를 남긴다.
+	 * @return out에 쓴 길이
+	 */
+	private int _process(byte[] data, int d_offset, int data_size, byte[] out, int o_offset) {
+		if (remain_size < 0)	remain_size = 0 ;
+		
+		int length = (isEncrypt ? (remain_size + data_size) : (remain_size + data_size - _BLOCK_SIZE)) ;	// 복호화는 Last Padding Block를 제외하고,
+		length = (length < 0) ? 0 : (length / _BLOCK_SIZE) * _BLOCK_SIZE ;
+		
+		if (length == 0) {	// 한 Block이 못 되면.
+			System.arraycopy(data, d_offset, remain_data, remain_size, data_size) ;
+			remain_size += data_size ;
+			return 0 ;
 		}
-		else {	// Decrypt
-			int ret_size = (remain_data.size() + data_size - _BLOCK_SIZE) ;	// Last Padding Block를 제외하고,
-			int block_size = ret_size / _BLOCK_SIZE ;
-			
-			if(ret_size < 0 || block_size == 0) {
-				for(int i = 0; i < data_size; ++i)
-					remain_data.add(data[i]) ;
-				return new byte[0] ;
-			}
-			
-			byte[] ret = new byte[block_size * _BLOCK_SIZE] ;
-			int i = 0, j = 0;
-			for(; i < ret.length && i < remain_data.size(); ++i)
-				ret[i] = remain_data.get(i) ;
-			
-			for(j = 0; i < ret.length && j < data_size;)
-				ret[i++] = data[j++] ;
-			
-			if(remain_data.size() - ret.length > 0) {
-				ArrayList<Byte> tmp = new ArrayList<Byte>() ;
-				for(int ii = i; ii < remain_data.size(); ++ii)
-					tmp.add(remain_data.get(ii)) ;
-				remain_data = tmp ;
-			}
-			else {
-				remain_data.clear() ;
-			}
-			
-			for(; j < data_size;)
-				remain_data.add(data[j++]) ;
-			
-			byte[] ret_value = new byte[ret.length] ;
-			for(i = 0; i < ret.length; i += _BLOCK_SIZE)
-				_blockDecrypt(ret, i, ret_value, i) ;
-
-			if(ret_binary == null)		return ret_value ;
-			if(ret_binary.size() == 0)	return ret_value ;
-			///////////////////////////////////////////////////////////
-			// return해야할 ret_binary + 이번 ret_value 을 합하여 Return
-			{
-				byte[] ret_buf = new byte[ret_binary.size() + ret_value.length] ;
-				int r = 0; 
-				for(byte b : ret_binary)	ret_buf[r++] = b ;
-				System.arraycopy(ret_value, 0, ret_buf, r, ret_value.length) ;
-				ret_binary.clear() ;
-			
-				return ret_buf ;
-			}
+		
+		// [ remain_data | data ] 중 앞 length만큼 처리한다.
+		// remain_data가 있으면 data 앞부분을 remain_data 뒤에 채워서 Block 단위(head)로 먼저 처리하고, 나머지는 data에서 바로 처리한다.
+		int head = Math.min(length, ((remain_size + _BLOCK_SIZE - 1) / _BLOCK_SIZE) * _BLOCK_SIZE) ;
+		if (head > remain_size)
+			System.arraycopy(data, d_offset, remain_data, remain_size, head - remain_size) ;
+		if (head > 0) {
+			if (isEncrypt)	_bulkEncrypt(remain_data, 0, out, o_offset, head) ;
+			else			_bulkDecrypt(remain_data, 0, out, o_offset, head) ;
+		}
+		
+		int d_index = head - remain_size ;	// data에서 처리한 위치 (음수이면 remain_data가 남음)
+		if (length > head) {
+			if (isEncrypt)	_bulkEncrypt(data, d_offset + d_index, out, o_offset + head, length - head) ;
+			else			_bulkDecrypt(data, d_offset + d_index, out, o_offset + head, length - head) ;
+			d_index += length - head ;
+		}
+		
+		if (d_index < 0) {
+			System.arraycopy(remain_data, head, remain_data, 0, remain_size - head) ;
+			remain_size -= head ;
+			d_index = 0 ;
 		}
+		else {
+			remain_size = 0 ;
+		}
+		System.arraycopy(data, d_offset + d_index, remain_data, remain_size, data_size - d_index) ;
+		remain_size += data_size - d_index ;
+		
+		return length ;
+	}
+	
+	/**
+	 * process(data_size) 했을 때 나오는 결과 길이
+	 * @param data_size	암/복호화할 Data 길이
+	 * @return 결과 길이 (append()로 쌓인 결과 포함)
+	 */
+	public int getProcessOutputSize(int data_size) {
+		int remain = Math.max(remain_size, 0) ;
+		int length = (isEncrypt ? (remain + data_size) : (remain + data_size - _BLOCK_SIZE)) ;
+		length = (length < 0) ? 0 : (length / _BLOCK_SIZE) * _BLOCK_SIZE ;
+		return ret_size + length ;
+	}
+	
+	/**
+	 * finish() 했을 때 나오는 결과 길이 (복호화이면 Padding을 빼기 전의 최대 길이)
+	 * @return 결과 길이 (append()로 쌓인 결과 포함)
+	 */
+	public int getFinishOutputSize() {
+		if (remain_size < 0)	return 0 ;
+		return ret_size + (isEncrypt ? _BLOCK_SIZE : remain_size) ;
+	}
+	
+	/**
+	 * 암/복호화 결과 최대 길이
+	 * 암호화는 항상 Padding이 붙으므로 정확한 길이이고, 복호화는 Padding을 빼기 전의 길이이다.
+	 * @param length	암/복호화할 Data 길이
+	 * @param action	SEED.Action.ENCRYPT 또는 SEED.Action.DECRYPT
+	 * @return 결과 Buffer 크기
+	 */
+	public int getOutputSize(int length, Action action) {
+		if (length <= 0)	return 0 ;
+		return (action == Action.ENCRYPT) ? (length / _BLOCK_SIZE + 1) * _BLOCK_SIZE : length ;
 	}
 	
 	/**
@@ -975,62 +1490,319 @@ public class SEED {
 	 * @return 암/복호화된 결과 (append()한 경우 누적된 결과이다.)
 	 */
 	public byte[] finish() {
-		if(remain_data == null)	return new byte[0] ;
+		if(remain_size < 0)	return new byte[0] ;
+		
+		byte[] ret = new byte[getFinishOutputSize()] ;
+		int length = finish(ret, 0) ;
+		return (length == ret.length) ? ret : Arrays.copyOf(ret, length) ;
+	}
+	
+	/**
+	 * 암/복호화을 마무리하기 (결과를 out에 쓴다.)
+	 * out은 getFinishOutputSize() 이상 남아 있어야 한다.
+	 * @param out		암/복호화된 결과를 쓸 Buffer
+	 * @param o_offset	out offset
+	 * @return out에 쓴 길이
+	 */
+	public int finish(byte[] out, int o_offset) {
+		if(remain_size < 0)	return 0 ;
 		
-		byte[] last = null ;
+		if(!isEncrypt && remain_size != _BLOCK_SIZE)	throw new ZEEDException(Error.CIPHER_LENGTH, "cipher length % 16 != 0", false) ;
 		
+		int out_size = getFinishOutputSize() ;
+		if (out.length - o_offset < out_size)	throw new ZEEDException(Error.OUTPUT_LENGTH, "output length < " + out_size) ;
+		
+		int last_length = _BLOCK_SIZE ;
 		if(isEncrypt) {
-			byte[] last_buffer = new byte[remain_data.size()] ;
-			for(int i = 0; i < last_buffer.length; ++i)
-				last_buffer[i] = remain_data.get(i) ;
-			
-			last = Padding(last_buffer, last_buffer.length, _BLOCK_SIZE) ;
-			
-			_blockEncrypt(last, 0, last, 0) ;
+			_PaddingLast(remain_data, 0, remain_size, remain_data, 0) ;
+			_blockEncrypt(remain_data, 0, remain_data, 0) ;
 		}
 		else {
-			if(remain_data.size() != _BLOCK_SIZE)	throw new ZEEDException(Error.CIPHER_LENGTH, "cipher length % 16 != 0") ;
-			
-			byte[] temp = new byte[_BLOCK_SIZE] ;
-			int i = 0;
-			for(byte b : remain_data)
-				temp[i++] = b ;
-			_blockDecrypt(temp, 0, temp, 0) ;
+			_blockDecrypt(remain_data, 0, remain_data, 0) ;
 			
-			int padding_count = _GetPaddingCount(temp) ;
-			last = new byte[temp.length - padding_count] ;
-			System.arraycopy(temp, 0, last, 0, last.length) ;
+			last_length -= _GetPaddingCount(remain_data, _BLOCK_SIZE) ;
+		}
+		
+		System.arraycopy(ret_binary, 0, out, o_offset, ret_size) ;
+		System.arraycopy(remain_data, 0, out, o_offset + ret_size, last_length) ;
+		int ret = ret_size + last_length ;
+		ret_size = 0 ;
+		return ret ;
+	}
+	
+	/**
+	 * 암/복호화을 반복적으로 하기 (ByteBuffer)
+	 * init()를 먼저 한 후, update()를 반복적으로 호출하고, 반드시 doFinal()로 마무리한다.
+	 * src의 남은 Data를 모두 읽고, 결과를 dst에 쓴다. (src, dst의 position이 옮겨진다.)
+	 * Heap Buffer는 배열에서 바로 처리하고, Direct Buffer는 작은 임시 Buffer로 나누어 옮겨서 처리한다.
+	 * @param src	암/복호화할 Data
+	 * @param dst	결과를 쓸 Buffer (getProcessOutputSize(src.remaining()) 이상 남아 있어야 한다.)
+	 * @return dst에 쓴 길이
+	 */
+	public int update(ByteBuffer src, ByteBuffer dst) {
+		if (roundKey.length == 0)	throw new ZEEDException(Error.KEY_LENGTH, "userKey length is zero") ;
+		
+		int out_size = getProcessOutputSize(src.remaining()) ;
+		if (dst.remaining() < out_size)	throw new ZEEDException(Error.OUTPUT_LENGTH, "output length < " + out_size) ;
+		
+		// 같은 배열에서 dst가 src보다 뒤이면, 결과를 쓰다가 아직 읽지 않은 src를 덮어쓸 수 있으므로 복사본에서
+		ByteBuffer in = (_SameArray(src, dst) && _ArrayPosition(dst) > _ArrayPosition(src)) ? _CopyRemaining(src) : src ;
+		if (in.hasArray() && dst.hasArray() && in.array() != dst.array()) {
+			int length = process(in.array(), _ArrayPosition(in), in.remaining(), dst.array(), _ArrayPosition(dst)) ;
+			src.position(src.limit()) ;
+			dst.position(dst.position() + length) ;
+			return length ;
 		}
 		
-		if(ret_binary == null)		return last ;
-		if(ret_binary.size() == 0)	return last ;
+		if (nio_in == null) {
+			nio_in  = new byte[_NIO_CHUNK_SIZE] ;
+			nio_out = new byte[_NIO_CHUNK_SIZE + 2 * _BLOCK_SIZE] ;
+		}
 		
-		byte[] ret = new byte[ret_binary.size() + last.length] ;
-		int i = 0; 
-		for(byte b : ret_binary)	ret[i++] = b ;
-		System.arraycopy(last, 0, ret, i, last.length) ;
-		ret_binary.clear() ;
+		int ret = 0 ;
+		while (src.hasRemaining()) {
+			int size = Math.min(src.remaining(), _NIO_CHUNK_SIZE) ;
+			int chunk_size = getProcessOutputSize(size) ;
+			if (nio_out.length < chunk_size)	nio_out = new byte[chunk_size] ;	// append()로 쌓인 결과가 있는 경우
+			
+			src.get(nio_in, 0, size) ;
+			int length = process(nio_in, 0, size, nio_out, 0) ;
+			dst.put(nio_out, 0, length) ;
+			ret += length ;
+		}
 		return ret ;
 	}
 	
+	/**
+	 * 암/복호화을 마무리하기 (ByteBuffer)
+	 * src의 남은 Data를 update()하고, finish()한 결과까지 dst에 쓴다.
+	 * @param src	암/복호화할 마지막 Data
+	 * @param dst	결과를 쓸 Buffer (getOutputSize() 만큼 남아 있어야 한다.)
+	 * @return dst에 쓴 길이
+	 */
+	public int doFinal(ByteBuffer src, ByteBuffer dst) {
+		int out_size = ret_size + getOutputSize(Math.max(remain_size, 0) + src.remaining(), isEncrypt ? Action.ENCRYPT : Action.DECRYPT) ;
+		if (dst.remaining() < out_size)	throw new ZEEDException(Error.OUTPUT_LENGTH, "output length < " + out_size) ;
+		
+		int ret = update(src, dst) ;
+		
+		int finish_size = getFinishOutputSize() ;
+		if (dst.hasArray()) {
+			int length = finish(dst.array(), dst.arrayOffset() + dst.position()) ;
+			dst.position(dst.position() + length) ;
+			return ret + length ;
+		}
+		
+		byte[] last = (nio_out != null && nio_out.length >= finish_size) ? nio_out : new byte[finish_size] ;
+		int length = finish(last, 0) ;
+		dst.put(last, 0, length) ;
+		return ret + length ;
+	}
+	
+	/**
+	 * 암호화하기 (ByteBuffer)
+	 * src의 남은 Data를 암호화하여 dst에 쓴다. (src, dst의 position이 옮겨진다.)
+	 * @param src	암호화할 대상(평문)
+	 * @param dst	암호문을 쓸 Buffer (getOutputSize(src.remaining(), Action.ENCRYPT) 이상 남아 있어야 한다.)
+	 * @return dst에 쓴 길이
+	 */
+	public int encrypt(ByteBuffer src, ByteBuffer dst) {
+		int out_size = getOutputSize(src.remaining(), Action.ENCRYPT) ;
+		if (dst.remaining() < out_size)	throw new ZEEDException(Error.OUTPUT_LENGTH, "output length < " + out_size) ;
+		
+		if (src.hasArray() && dst.hasArray()) {
+			// 배열 API는 같은 배열의 같은 위치만 허용하므로, 같은 배열의 다른 위치이면 복사본에서
+			ByteBuffer in = (_SameArray(src, dst) && _ArrayPosition(dst) != _ArrayPosition(src)) ? _CopyRemaining(src) : src ;
+			int length = encrypt(in.array(), _ArrayPosition(in), in.remaining(), dst.array(), _ArrayPosition(dst)) ;
+			src.position(src.limit()) ;
+			dst.position(dst.position() + length) ;
+			return length ;
+		}
+		
+		init(Action.ENCRYPT) ;
+		return src.hasRemaining() ? doFinal(src, dst) : 0 ;
+	}
+	
+	/**
+	 * 복호화하기 (ByteBuffer)
+	 * src의 남은 Data를 복호화하여 dst에 쓴다. (src, dst의 position이 옮겨진다.)
+	 * @param src	복호화할 암호문 Data
+	 * @param dst	원문을 쓸 Buffer (getOutputSize(src.remaining(), Action.DECRYPT) 이상 남아 있어야 한다.)
+	 * @return dst에 쓴 길이
+	 */
+	public int decrypt(ByteBuffer src, ByteBuffer dst) {
+		int out_size = getOutputSize(src.remaining(), Action.DECRYPT) ;
+		if (dst.remaining() < out_size)	throw new ZEEDException(Error.OUTPUT_LENGTH, "output length < " + out_size) ;
+		
+		if (src.hasArray() && dst.hasArray()) {
+			// 배열 API는 같은 배열의 같은 위치만 허용하므로, 같은 배열의 다른 위치이면 복사본에서
+			ByteBuffer in = (_SameArray(src, dst) && _ArrayPosition(dst) != _ArrayPosition(src)) ? _CopyRemaining(src) : src ;
+			int length = decrypt(in.array(), _ArrayPosition(in), in.remaining(), dst.array(), _ArrayPosition(dst)) ;
+			src.position(src.limit()) ;
+			dst.position(dst.position() + length) ;
+			return length ;
+		}
+		
+		if ((src.remaining() % _BLOCK_SIZE) != 0)	throw new ZEEDException(Error.CIPHER_LENGTH, "cipher length % 16 != 0", false) ;
+		
+		init(Action.DECRYPT) ;
+		if (is(Option.DECRYPT_CHECK_PADDING_FIRST) && src.hasRemaining()) {
+			int tail = Math.min(src.remaining(), 2 * _BLOCK_SIZE) ;
+			byte[] last = new byte[2 * _BLOCK_SIZE] ;
+			src.duplicate().position(src.limit() - tail).get(last, last.length - tail, tail) ;
+			_checkLast(last, _BLOCK_SIZE, src.remaining()) ;
+		}
+		return src.hasRemaining() ? doFinal(src, dst) : 0 ;
+	}
+	
+	private static boolean _SameArray(ByteBuffer src, ByteBuffer dst) {
+		return src.hasArray() && dst.hasArray() && src.array() == dst.array() ;
+	}
+	
+	/**
+	 * @return Heap Buffer의 position에 해당하는 배열 위치
+	 */
+	private static int _ArrayPosition(ByteBuffer buffer) {
+		return buffer.arrayOffset() + buffer.position() ;
+	}
+	
+	/**
+	 * src의 남은 Data를 새 Heap Buffer로 복사하기 (src의 position은 그대로)
+	 */
+	private static ByteBuffer _CopyRemaining(ByteBuffer src) {
+		ByteBuffer copy = ByteBuffer.allocate(src.remaining()) ;
+		copy.put(src.duplicate()).flip() ;
+		return copy ;
+	}
+	
 	/**
 	 * 암호화하기
 	 * @param plain	암호화할 대상(평문)
 	 * @return 암호화된 결과(암호문)
 	 */
 	public byte[] encrypt(byte[] plain)
+	{
+		return encrypt(plain, 0, plain == null ? 0 : plain.length) ;
+	}
+	
+	/**
+	 * 암호화하기
+	 * @param plain		암호화할 대상(평문)
+	 * @param offset	plain offset
+	 * @param length	암호화할 길이
+	 * @return 암호화된 결과(암호문)
+	 */
+	public byte[] encrypt(byte[] plain, int offset, int length)
 	{
 		if (roundKey.length == 0)	throw new ZEEDException(Error.KEY_LENGTH, "userKey length is zero") ;
 		if (plain == null)			return null ;
-		if (plain.length == 0)		return new byte[0] ;
+		
+		byte[] ret = new byte[getOutputSize(length, Action.ENCRYPT)] ;
+		encrypt(plain, offset, length, ret, 0) ;
+		return ret ;
+	}
+	
+	/**
+	 * 암호화하기 (결과를 cipher에 쓴다.)
+	 * cipher는 getOutputSize(length, Action.ENCRYPT) 이상 남아 있어야 한다. (plain과 같은 Buffer, 같은 offset이어도 된다.)
+	 * @param plain		암호화할 대상(평문)
+	 * @param p_offset	plain offset
+	 * @param length	암호화할 길이
+	 * @param cipher	암호화된 결과(암호문)를 쓸 Buffer
+	 * @param c_offset	cipher offset
+	 * @return cipher에 쓴 길이
+	 */
+	public int encrypt(byte[] plain, int p_offset, int length, byte[] cipher, int c_offset)
+	{
+		if (roundKey.length == 0)	throw new ZEEDException(Error.KEY_LENGTH, "userKey length is zero") ;
+		if (length == 0)			return 0 ;
+		
+		int out_size = getOutputSize(length, Action.ENCRYPT) ;
+		if (cipher.length - c_offset < out_size)	throw new ZEEDException(Error.OUTPUT_LENGTH, "output length < " + out_size) ;
 		
 		init(Action.ENCRYPT) ;
 		
-		byte[] data = Padding(plain, plain.length, _BLOCK_SIZE) ;
-		for(int i = 0; i < data.length; i += _BLOCK_SIZE)
-			_blockEncrypt(data, i, data, i) ;
+		// 온전한 Block은 plain에서 cipher로 바로 암호화하고, 마지막 Block만 16 Byte 임시 Buffer에서 Padding한다.
+		// (plain과 cipher가 같은 Buffer여도 마지막 Block의 평문은 아직 덮어쓰지 않았다.)
+		int full_length = (length / _BLOCK_SIZE) * _BLOCK_SIZE ;
+		_bulkEncrypt(plain, p_offset, cipher, c_offset, full_length) ;
+		_PaddingLast(plain, p_offset + full_length, length - full_length, block_buffer, 0) ;
+		_bulkEncrypt(block_buffer, 0, cipher, c_offset + full_length, _BLOCK_SIZE) ;
 		
-		return data ;
+		return out_size ;
+	}
+
+	/**
+	 * 여러 Message를 한번에 암호화하기 (Multi-Buffer, SEED.CBC_MODE 전용)
+	 * <p>
+	 * CBC 암호화는 앞 Block에 의존하므로 한 Message 안에서는 순차 처리만 가능하다.
+	 * 그래서 서로 독립인 여러 Message의 k번째 Block을 묶어서 동시에 암호화한다.
+	 * 결과는 Message마다 setInitialVector() 후 encrypt()한 것과 같다.
+	 * @param plains	암호화할 대상(평문)들
+	 * @param ivs		Message별 initial vector 16 Byte
+	 * @return 암호화된 결과(암호문)들 (plains와 같은 순서)
+	 */
+	public byte[][] encrypt(byte[][] plains, byte[][] ivs) {
+		if (roundKey.length == 0)		throw new ZEEDException(Error.KEY_LENGTH, "userKey length is zero") ;
+		if (mode != Mode.CBC)			throw new ZEEDException(Error.CANNOT_SUPPORT_MODE, "multi-buffer encrypt is only for CBC") ;
+		if (plains == null)				return null ;
+		if (ivs == null || ivs.length != plains.length)	throw new ZEEDException(Error.IV_LENGTH, "ivs length != plains length") ;
+		
+		byte[][] ret = new byte[plains.length][] ;
+		byte[] multi_buffer = _multiBuffer() ;
+		int[] lane_message = new int[_STREAM_BLOCK] ;	// Lane별 Message 번호
+		int[] lane_offset  = new int[_STREAM_BLOCK] ;	// Lane별 처리할 Block 위치
+		int lanes = 0, next = 0 ;
+		
+		for(;;) {
+			// 빈 Lane을 다음 Message로 채우기
+			for(; lanes < _STREAM_BLOCK && next < plains.length; ++next) {
+				byte[] plain = plains[next] ;
+				if (plain == null)		continue ;
+				if (plain.length == 0)	{ ret[next] = new byte[0] ;	continue ; }
+				if (ivs[next] == null || ivs[next].length != _BLOCK_SIZE)	throw new ZEEDException(Error.IV_LENGTH, "InitialVector length != 16") ;
+				
+				ret[next] = new byte[(plain.length / _BLOCK_SIZE + 1) * _BLOCK_SIZE] ;
+				lane_message[lanes] = next ;
+				lane_offset[lanes] = 0 ;
+				++lanes ;
+			}
+			if (lanes == 0)	break ;
+			
+			// Lane마다 (평문 Block ^ 앞 암호문 Block)을 multi_buffer에 모으기
+			for(int l = 0; l < lanes; ++l) {
+				int m = lane_message[l], offset = lane_offset[l] ;
+				byte[] prev = (offset == 0) ? ivs[m] : ret[m] ;
+				int prev_offset = (offset == 0) ? 0 : offset - _BLOCK_SIZE ;
+				
+				if (offset + _BLOCK_SIZE <= plains[m].length)
+					_BLOCK_XOR(multi_buffer, l * _BLOCK_SIZE, plains[m], offset, prev, prev_offset) ;
+				else {	// 마지막 Block
+					_PaddingLast(plains[m], offset, plains[m].length - offset, block_buffer, 0) ;
+					_BLOCK_XOR(multi_buffer, l * _BLOCK_SIZE, block_buffer, 0, prev, prev_offset) ;
+				}
+			}
+			
+			_ENGINE.encrypt(multi_buffer, 0, multi_buffer, 0, lanes, roundKey) ;
+			
+			// 결과를 Message별로 돌려주고, 끝난 Lane은 비우기
+			for(int l = 0; l < lanes;) {
+				int m = lane_message[l] ;
+				System.arraycopy(multi_buffer, l * _BLOCK_SIZE, ret[m], lane_offset[l], _BLOCK_SIZE) ;
+				lane_offset[l] += _BLOCK_SIZE ;
+				if (lane_offset[l] < ret[m].length) {
+					++l ;
+					continue ;
+				}
+				
+				--lanes ;
+				lane_message[l] = lane_message[lanes] ;
+				lane_offset[l]  = lane_offset[lanes] ;
+				System.arraycopy(multi_buffer, lanes * _BLOCK_SIZE, multi_buffer, l * _BLOCK_SIZE, _BLOCK_SIZE) ;
+			}
+		}
+		
+		return ret ;
 	}
 
 	public byte[] encrypt(byte[] plain, String userKey) throws ZEEDException {
@@ -1053,22 +1825,25 @@ public class SEED {
 //			os.write(this.process(buffer, read_byte_count)) ;
 //		os.write(this.finish()) ;
 		
-		byte[] buffer = new byte[_BLOCK_SIZE] ;
-		int read_byte_count = 0 ;
-		int i = 0;
-		for(;(read_byte_count = is.read(buffer)) == _BLOCK_SIZE; ++i) {
-			_blockEncrypt(buffer, 0, buffer, 0) ;
-			os.write(buffer) ;
-		}
-
-		if(read_byte_count <= 0) {
-			if(i == 0)	return ;	// empty inputstream
-			read_byte_count = 0 ;
+		// Buffer 단위로 가득 읽어서 (병렬 처리 가능하면 병렬로) 암호화하고, 마지막 Buffer에서 Padding한다.
+		byte[] buffer = new byte[_StreamBufferSize()] ;
+		for(boolean empty = true;; empty = false) {
+			int length = _Read(is, buffer, 0, buffer.length) ;
+			if(length < buffer.length) {	// end of inputstream
+				if(length == 0 && empty)	return ;	// empty inputstream
+				
+				int full_length = (length / _BLOCK_SIZE) * _BLOCK_SIZE ;
+				_bulkEncrypt(buffer, 0, buffer, 0, full_length) ;
+				_PaddingLast(buffer, full_length, length - full_length, remain_data, 0) ;	// block_buffer는 _blockEncrypt()가 쓴다.
+				_blockEncrypt(remain_data, 0, remain_data, 0) ;
+				os.write(buffer, 0, full_length) ;
+				os.write(remain_data, 0, _BLOCK_SIZE) ;
+				break ;
+			}
+			
+			_bulkEncrypt(buffer, 0, buffer, 0, buffer.length) ;
+			os.write(buffer, 0, buffer.length) ;
 		}
-		
-		buffer = Padding(buffer, read_byte_count, _BLOCK_SIZE) ;
-		_blockEncrypt(buffer, 0, buffer, 0) ;
-		os.write(buffer) ;
 		os.flush();
 	}
 	
@@ -1082,7 +1857,7 @@ public class SEED {
 		this.encrypt(is, os) ;
 	}
 	
-	private static byte[] _GetKeyBytes(String userKey, int size) {
+	static byte[] _GetKeyBytes(String userKey, int size) {
 		byte[] uk = userKey.getBytes() ;
 		for(int i = 0; i < uk.length; ++i) {
 			if (uk[i] <= 0x20 || uk[i] >= 0x7F)
@@ -1382,26 +2157,52 @@ public class SEED {
 //			os.write(this.process(buffer, read_byte_count)) ;
 //		os.write(this.finish()) ;
 		
-		byte[] buffer = new byte[_BLOCK_SIZE] ;
-		byte[] plain = new byte[_BLOCK_SIZE] ;
-		int read_byte_count = 0 ;
-		int i = 0 ;
-		for(; (read_byte_count = is.read(buffer)) == _BLOCK_SIZE; ++i) {
-			if(i != 0)	os.write(plain) ;
-			_blockDecrypt(buffer, 0, plain, 0) ;
-		}
-
-		if(read_byte_count <= 0) {
-			if(i == 0)	return ;	// empty inputstream
-			read_byte_count = 0 ;
+		// 마지막 Block(Padding 확인용)은 남겨두고, 나머지는 Buffer 단위로 (병렬 처리 가능하면 병렬로) 복호화한다.
+		byte[] buffer = new byte[_StreamBufferSize() + _BLOCK_SIZE] ;
+		int length = 0 ;
+		for(;;) {
+			length += _Read(is, buffer, length, buffer.length - length) ;
+			if(length < buffer.length)	break ;	// end of inputstream
+			
+			int size = buffer.length - _BLOCK_SIZE ;
+			_bulkDecrypt(buffer, 0, buffer, 0, size) ;
+			os.write(buffer, 0, size) ;
+			System.arraycopy(buffer, size, buffer, 0, _BLOCK_SIZE) ;
+			length = _BLOCK_SIZE ;
 		}
 		
-		if(read_byte_count > 0)		throw new ZEEDException(Error.CIPHER_LENGTH, "cipher length % 16 != 0") ;
+		if(length == 0)						return ;	// empty inputstream
+		if((length % _BLOCK_SIZE) != 0)		throw new ZEEDException(Error.CIPHER_LENGTH, "cipher length % 16 != 0", false) ;
 		
-		os.write(plain, 0, _BLOCK_SIZE - _GetPaddingCount(plain)) ;
+		_bulkDecrypt(buffer, 0, buffer, 0, length) ;
+		os.write(buffer, 0, length - _GetPaddingCount(buffer, length)) ;
 		os.flush();
 	}
 	
+	/**
+	 * Stream 처리 Buffer 크기 (병렬 처리할 때는 병렬 처리 최소 길이 이상)
+	 */
+	private int _StreamBufferSize() {
+		if (parallel_executor == null)	return _STREAM_BUFFER_SIZE ;
+		
+		int size = Math.min(Math.max(parallel_threshold, _STREAM_BUFFER_SIZE), _MAX_STREAM_BUFFER_SIZE) ;
+		return (size + _BLOCK_SIZE - 1) / _BLOCK_SIZE * _BLOCK_SIZE ;
+	}
+	
+	/**
+	 * length만큼 또는 끝까지 읽기 (InputStream.read()는 length보다 적게 읽을 수 있다.)
+	 * @return 읽은 길이
+	 */
+	private static int _Read(InputStream is, byte[] buffer, int offset, int length) throws IOException {
+		int ret = 0 ;
+		while(ret < length) {
+			int read_byte_count = is.read(buffer, offset + ret, length - ret) ;
+			if(read_byte_count < 0)	break ;
+			ret += read_byte_count ;
+		}
+		return ret ;
+	}
+	
 	public void decrypt(InputStream is, OutputStream os, String userKey) throws ZEEDException, IOException {
 		this.setUserKey(userKey) ;
 		this.decrypt(is, os) ;
@@ -1412,14 +2213,87 @@ public class SEED {
 		this.decrypt(is, os) ;
 	}
 	
-	private int _GetPaddingCount(byte[] data)
+	/**
+	 * 채움(Padding) 길이 구하기
+	 * @param data			복호화된 Data
+	 * @param data_length	data의 유효 길이 (마지막 Block이 data[data_length-16] ~ data[data_length-1])
+	 * @return Padding 길이
+	 */
+	int _GetPaddingCount(byte[] data, int data_length)
+	{
+		int padding_count = _CheckPadding(data, data_length) ;
+		if (padding_count < 0)	throw _PaddingError(padding_count) ;
+		return padding_count ;
+	}
+	
+	/** _CheckPadding() 오류 (음수)			*/
+	private static final int _PADDING_UNDER = -1, _PADDING_OVER = -2, _PADDING_MISMATCH = -3, _PADDING_EMPTY = -4 ;
+	/** _CheckPadding() 오류별 오류코드		*/
+	private static final Error[] _PADDING_ERROR = { Error.OK_GOOD, Error.PADDING, Error.PADDING, Error.PADDING, Error.EMPTY_PADDING } ;
+	/** _CheckPadding() 오류별 Message		*/
+	private static final String[] _PADDING_MESSAGE = { Error.OK_GOOD.msg(), "padding_count < 1", "padding_count > 16", "padding mismatch", Error.EMPTY_PADDING.msg() } ;
+	
+	/**
+	 * _CheckPadding() 오류를 예외로 (Stack Trace 없이)
+	 */
+	private static ZEEDException _PaddingError(int padding_count) {
+		return new ZEEDException(_PADDING_ERROR[-padding_count], _PADDING_MESSAGE[-padding_count], false) ;
+	}
+	
+	/**
+	 * 마지막 Block만 먼저 복호화하여 Padding 확인하기 (Option.DECRYPT_CHECK_PADDING_FIRST)
+	 * ECB는 마지막 Block만, CBC는 바로 앞 암호문 Block(없으면 IV)으로, CTR은 counter + (Block 수 - 1)로 복호화하므로
+	 * 키가 틀리면 나머지를 복호화하지 않고 바로 알 수 있다.
+	 * 결과는 block_buffer에 쓰고, Message 처음(iv, ctr) 기준이므로 init()가 필요 없고 seasoning 등 진행 중인 상태도 바꾸지 않는다.
+	 * @param in		암호문
+	 * @param l_offset	마지막 암호문 Block offset (CBC이면 앞 16 Byte가 바로 앞 암호문 Block)
+	 * @param length	암호문 전체 길이(16의 배수)
+	 * @return Padding 길이 (오류이면 음수 _PADDING_XXX)
+	 */
+	private int _decryptLast(byte[] in, int l_offset, long length) {
+		switch(mode)
+		{
+		case ECB :
+					_SEED_Decrypt(in, l_offset, block_buffer, 0, roundKey) ;
+					break ;
+		case CBC :
+					_SEED_Decrypt(in, l_offset, block_buffer, 0, roundKey) ;
+					if (length > _BLOCK_SIZE)	_BLOCK_XOR(block_buffer, 0, in, l_offset - _BLOCK_SIZE) ;
+					else if (iv.length != 0)	_BLOCK_XOR(block_buffer, 0, iv, 0) ;
+					break ;
+		case CTR :
+					if (ctr.length != 0)	System.arraycopy(ctr, 0, block_buffer, 0, _BLOCK_SIZE) ;
+					else					Arrays.fill(block_buffer, (byte)0) ;
+					_UpdateCounter(block_buffer, length / _BLOCK_SIZE - 1) ;
+					_SEED_Encrypt(block_buffer, 0, block_buffer, 0, roundKey) ;
+					_BLOCK_XOR(block_buffer, 0, in, l_offset) ;
+					break ;
+		}
+		return _CheckPadding(block_buffer, _BLOCK_SIZE) ;
+	}
+	
+	/**
+	 * 마지막 Block만 먼저 복호화하여 Padding 확인하기 (틀리면 예외)
+	 * @see #_decryptLast(byte[], int, long)
+	 */
+	void _checkLast(byte[] in, int l_offset, long length) {
+		int padding_count = _decryptLast(in, l_offset, length) ;
+		if (padding_count < 0)	throw _PaddingError(padding_count) ;
+	}
+	
+	/**
+	 * 채움(Padding) 길이 구하기 (예외를 던지지 않는다.)
+	 * 복호화키가 틀리면 대부분 Padding 오류가 나므로, 예외 없이 빨리 판단할 수 있도록 한다.
+	 * @return Padding 길이 (오류이면 음수 _PADDING_XXX)
+	 */
+	private int _CheckPadding(byte[] data, int data_length)
 	{
 		int padding_count = 0 ;
 		switch(this.padding)
 		{
 		case BIT :
-					for(int i = 0; i < data.length; ++i) {
-						byte b = data[data.length-1-i] ;
+					for(int i = 0; i < data_length; ++i) {
+						byte b = data[data_length-1-i] ;
 						if(b == 0x00)	continue ;
 						
 						if(b == (byte)0x80)
@@ -1431,7 +2305,7 @@ public class SEED {
 					
 		case PKCS7 :
 		case X923  :
-					padding_count = data[data.length-1] & 0xFF ;
+					padding_count = data[data_length-1] & 0xFF ;
 					break ;
 		}
 		
@@ -1439,14 +2313,14 @@ public class SEED {
 			if(is(Option.DECRYPT_EMPTY_PADDING_OK))
 				padding_count = 0 ;
 			else
-				throw new ZEEDException(Error.PADDING, "padding_count < 1") ;	// 복호화키가 틀린 경우
+				return _PADDING_UNDER ;		// 복호화키가 틀린 경우
 		}
 		
 		if(padding_count > 16) {
 			if(is(Option.DECRYPT_EMPTY_PADDING_OK))
 				padding_count = 0 ;
 			else
-				throw new ZEEDException(Error.PADDING, "padding_count > 16") ;	// 복호화키가 틀린 경우
+				return _PADDING_OVER ;		// 복호화키가 틀린 경우
 		}
 						
 		switch(this.padding)
@@ -1455,21 +2329,21 @@ public class SEED {
 					break ;
 		case PKCS7: 
 					for(int i = 0; i < padding_count; ++i) {
-						if(padding_count != data[data.length - (1 + i)])
-							throw new ZEEDException(Error.PADDING, "padding mismatch") ;	// 복호화키가 틀린 경우
+						if(padding_count != data[data_length - (1 + i)])
+							return _PADDING_MISMATCH ;	// 복호화키가 틀린 경우
 					}
 					break ;
 					
 		case X923 :
 					for(int i = 1; i < padding_count; ++i) {
-						if(0x00 != data[data.length - (1 + i)])
-							throw new ZEEDException(Error.PADDING, "padding mismatch") ;	// 복호화키가 틀린 경우
+						if(0x00 != data[data_length - (1 + i)])
+							return _PADDING_MISMATCH ;	// 복호화키가 틀린 경우
 					}
 					break ;
 		}
 		
 		if(padding_count == 0 && is(Option.DECRYPT_EMPTY_PADDING_OK) == false)
-			throw new ZEEDException(Error.EMPTY_PADDING) ;
+			return _PADDING_EMPTY ;
 		
 		return padding_count ;
 	}
@@ -1480,24 +2354,174 @@ public class SEED {
 	 * @return 복호화된 결과(평문)
 	 */
 	public byte[] decrypt(byte[] cipher) {
+		return decrypt(cipher, 0, cipher == null ? 0 : cipher.length) ;
+	}
+	
+	/**
+	 * 복호화하기(Binary to Binary)
+	 * @param cipher	복호화할 대상(암호문)
+	 * @param offset	cipher offset
+	 * @param length	복호화할 길이
+	 * @return 복호화된 결과(평문)
+	 */
+	public byte[] decrypt(byte[] cipher, int offset, int length) {
 		if (cipher == null)						return null ;
-		if (cipher.length == 0)					return new byte[0] ;
+		if (length == 0)						return new byte[0] ;
+		
+		byte[] data = new byte[getOutputSize(length, Action.DECRYPT)] ;
+		int ret_length = decrypt(cipher, offset, length, data, 0) ;
+		return (ret_length == data.length) ? data : Arrays.copyOf(data, ret_length) ;
+	}
+	
+	/**
+	 * 복호화하기 (결과를 plain에 쓴다.)
+	 * plain은 getOutputSize(length, Action.DECRYPT) 이상 남아 있으면 된다. (cipher와 같은 Buffer, 같은 offset이어도 된다.)
+	 * 정확하게는 Padding을 뺀 길이만큼만 있으면 된다.
+	 * @param cipher	복호화할 암호문 Data
+	 * @param c_offset	cipher offset
+	 * @param length	복호화할 길이 (16의 배수)
+	 * @param plain		복호화된 Data(즉, 원문)를 쓸 Buffer
+	 * @param p_offset	plain offset
+	 * @return plain에 쓴 길이
+	 */
+	public int decrypt(byte[] cipher, int c_offset, int length, byte[] plain, int p_offset) {
+		if (length == 0)						return 0 ;
 		
 		if (roundKey.length == 0)				throw new ZEEDException(Error.KEY_LENGTH, "userKey length is zero") ;
-		if ((cipher.length % _BLOCK_SIZE) != 0)	throw new ZEEDException(Error.CIPHER_LENGTH, "cipher length % 16 != 0") ;
+		if ((length % _BLOCK_SIZE) != 0)		throw new ZEEDException(Error.CIPHER_LENGTH, "cipher length % 16 != 0", false) ;
+		
+		int body_length = length - _BLOCK_SIZE ;
+		if (plain.length - p_offset < body_length)	throw new ZEEDException(Error.OUTPUT_LENGTH, "output length < " + body_length) ;
 
+		int padding_count = _decrypt(cipher, c_offset, length, plain, p_offset) ;
+		if (padding_count < 0)	throw _PaddingError(padding_count) ;
+		
+		int last_length = _BLOCK_SIZE - padding_count ;
+		if (plain.length - p_offset < body_length + last_length)	throw new ZEEDException(Error.OUTPUT_LENGTH, "output length < " + (body_length + last_length)) ;
+		System.arraycopy(block_buffer, 0, plain, p_offset + body_length, last_length) ;
+		
+		return body_length + last_length ;
+	}
+	
+	/**
+	 * 마지막 Block 앞까지 plain에 복호화하고, 마지막(Padding) Block은 block_buffer에 복호화한다.
+	 * @return Padding 길이 (오류이면 음수 _PADDING_XXX)
+	 */
+	private int _decrypt(byte[] cipher, int c_offset, int length, byte[] plain, int p_offset) {
+		int body_length = length - _BLOCK_SIZE ;
+		
 		init(Action.DECRYPT) ;
 		
-		byte[] data = new byte[cipher.length] ;
-		for(int i = 0; i < cipher.length; i += _BLOCK_SIZE)
-			_blockDecrypt(cipher, i, data, i) ;
+		if (is(Option.DECRYPT_CHECK_PADDING_FIRST)) {
+			int padding_count = _decryptLast(cipher, c_offset + body_length, length) ;
+			if (padding_count < 0)	return padding_count ;		// 키가 틀리면 나머지는 복호화하지 않는다.
+			
+			_bulkDecrypt(cipher, c_offset, plain, p_offset, body_length) ;
+			return padding_count ;
+		}
 		
-		int padding_count = _GetPaddingCount(data) ;
+		_bulkDecrypt(cipher, c_offset, plain, p_offset, body_length) ;
+		_bulkDecrypt(cipher, c_offset + body_length, block_buffer, 0, _BLOCK_SIZE) ;	// 마지막(Padding) Block
 		
-		byte[] ret = new byte[data.length - padding_count] ;
-		System.arraycopy(data, 0, ret, 0, ret.length);
+		return _CheckPadding(block_buffer, _BLOCK_SIZE) ;
+	}
+	
+	/**
+	 * 키가 맞는지 확인하기 (마지막 Block만 복호화하여 Padding 확인)
+	 * 큰 암호문도 Block 하나만 복호화하므로, 여러 키 중 맞는 키를 빨리 찾을 수 있다.
+	 * init()를 하지 않으므로 진행 중인 process()/append()에 영향이 없다.
+	 * false이면 틀린 키이고, true이어도 우연히 Padding이 맞는 틀린 키일 수 있다. (Option.DECRYPT_EMPTY_PADDING_OK이면 항상 true)
+	 * @param cipher	암호문
+	 * @return true: 맞는 키(일 수 있음), false: 틀린 키 또는 암호문 길이 오류
+	 */
+	public boolean verifyKey(byte[] cipher) {
+		return verifyKey(cipher, 0, cipher == null ? 0 : cipher.length) ;
+	}
+	
+	/**
+	 * 키가 맞는지 확인하기 (마지막 Block만 복호화하여 Padding 확인)
+	 * @param cipher	암호문
+	 * @param offset	cipher offset
+	 * @param length	암호문 길이
+	 * @return true: 맞는 키(일 수 있음), false: 틀린 키 또는 암호문 길이 오류
+	 */
+	public boolean verifyKey(byte[] cipher, int offset, int length) {
+		if (roundKey.length == 0)	throw new ZEEDException(Error.KEY_LENGTH, "userKey length is zero") ;
+		if (cipher == null || length <= 0 || (length % _BLOCK_SIZE) != 0)	return false ;
+		if (offset < 0 || offset > cipher.length - length)	return false ;
 		
-		return ret ;
+		return _decryptLast(cipher, offset + length - _BLOCK_SIZE, length) >= 0 ;
+	}
+	
+	/**
+	 * 복호화하기 (예외를 던지지 않는다.)
+	 * 여러 키를 시험하거나 신뢰할 수 없는 Data를 대량으로 검증할 때, 실패도 성공과 비슷한 비용으로 판단한다.
+	 * @param cipher	복호화할 대상(암호문)
+	 * @return 복호화된 결과(평문) 또는 오류코드 (Error.PADDING, Error.CIPHER_LENGTH 등)
+	 */
+	public ZEEDResult<byte[]> tryDecrypt(byte[] cipher) {
+		return tryDecrypt(cipher, 0, cipher == null ? 0 : cipher.length) ;
+	}
+	
+	/**
+	 * 복호화하기 (예외를 던지지 않는다.)
+	 * @param cipher	복호화할 대상(암호문)
+	 * @param offset	cipher offset
+	 * @param length	복호화할 길이
+	 * @return 복호화된 결과(평문) 또는 오류코드 (Error.PADDING, Error.CIPHER_LENGTH 등, offset/length가 cipher를 벗어나도 Error.CIPHER_LENGTH)
+	 */
+	public ZEEDResult<byte[]> tryDecrypt(byte[] cipher, int offset, int length) {
+		if (cipher == null)						return ZEEDResult.ok(null) ;
+		if (offset < 0 || length < 0 || offset > cipher.length - length)
+			return ZEEDResult.fail(Error.CIPHER_LENGTH, "offset/length out of cipher range") ;
+		if (length == 0)						return ZEEDResult.ok(new byte[0]) ;
+		
+		if (roundKey.length == 0)				return ZEEDResult.fail(Error.KEY_LENGTH, "userKey length is zero") ;
+		if ((length % _BLOCK_SIZE) != 0)		return ZEEDResult.fail(Error.CIPHER_LENGTH, "cipher length % 16 != 0") ;
+		
+		byte[] data = new byte[length] ;
+		int padding_count = _decrypt(cipher, offset, length, data, 0) ;
+		if (padding_count < 0)	return ZEEDResult.fail(_PADDING_ERROR[-padding_count], _PADDING_MESSAGE[-padding_count]) ;
+		
+		int body_length = length - _BLOCK_SIZE ;
+		System.arraycopy(block_buffer, 0, data, body_length, _BLOCK_SIZE - padding_count) ;
+		return ZEEDResult.ok((padding_count == 0) ? data : Arrays.copyOf(data, length - padding_count)) ;
+	}
+	
+	/**
+	 * 복호화하기(String to String, 예외를 던지지 않는다.)
+	 * @param cipher		복호화할 암호문 Data [ Base62처리된 ( https://github.com/zhangsob/Base62/ ) ]
+	 * @param userKey		복호화키 (암호화키와 동일)
+	 * @return 				복호화된 Data(즉, 원문) 또는 오류코드
+	 */
+	public ZEEDResult<String> tryDecrypt(String cipher, String userKey) {
+		return tryDecrypt(cipher, userKey, Charset.defaultCharset(), null) ;
+	}
+	
+	/**
+	 * 복호화하기(String to String, 예외를 던지지 않는다.)
+	 * @param cipher		복호화할 암호문 Data
+	 * @param userKey		복호화키 (암호화키와 동일)
+	 * @param charset		암호화시 한글 Charset
+	 * @param encodingTable	암호화시 Binary를 String화 Encoding Table
+	 * @return				복호화된 Data(즉, 원문) 또는 오류코드
+	 */
+	public ZEEDResult<String> tryDecrypt(String cipher, String userKey, Charset charset, EncodingTable encodingTable) {
+		if (cipher == null)	return ZEEDResult.ok(null) ;
+		
+		byte[] binary ;
+		try {
+			this.setUserKey(userKey) ;
+			binary = Decode(cipher, encodingTable) ;
+		} catch (ZEEDException e) {
+			return ZEEDResult.fail(e.getError(), e.getMessage()) ;
+		} catch (IllegalArgumentException e) {
+			return ZEEDResult.fail(Error.INVALID_DECODING_CHARACTER, e.getMessage()) ;
+		}
+		
+		ZEEDResult<byte[]> plain = tryDecrypt(binary) ;
+		if (!plain.isOK())	return ZEEDResult.fail(plain.error(), plain.msg()) ;
+		return ZEEDResult.ok(new String(plain.value(), charset == null ? Charset.defaultCharset() : charset)) ;
 	}
 
 	/**
@@ -1534,5 +2558,113 @@ public class SEED {
 		byte[] _plain = this.decrypt(Decode(cipher, encodingTable)) ;
 		return new String(_plain, charset == null ? Charset.defaultCharset() : charset) ;
 	}
-}
+	
+	/**
+	 * 여러 건 암호화하기 (DB Column 암호화 등)
+	 * 키 확장은 한 번만 하고, setParallelism()이 되어 있으면 여러 Thread로 나누어 처리한다.
+	 * @param plains		암호화할 대상(평문)들
+	 * @param userKey		암호화키
+	 * @return 입력 순서대로 건별 결과 (null 평문은 null 결과)
+	 */
+	public List<ZEEDResult<String>> encryptAll(List<String> plains, String userKey) {
+		return encryptAll(plains, userKey, Charset.defaultCharset(), null) ;
+	}
+	
+	/**
+	 * 여러 건 암호화하기 (DB Column 암호화 등)
+	 * @param plains		암호화할 대상(평문)들
+	 * @param userKey		암호화키
+	 * @param charset		암호화는 Binary 기준이므로 plain의 Charset를 설정한다. 
+	 * @param encodingTable	암호화된 결과도 Binary이므로 String만들 encoding하는 방식
+	 * @return 입력 순서대로 건별 결과 (null 평문은 null 결과)
+	 */
+	public List<ZEEDResult<String>> encryptAll(List<String> plains, String userKey, Charset charset, EncodingTable encodingTable) {
+		this.setUserKey(userKey) ;
+		final Charset _charset = (charset == null) ? Charset.defaultCharset() : charset ;
+		return _batch(plains, (worker, plain) -> Encode(worker.encrypt(plain.getBytes(_charset)), encodingTable)) ;
+	}
+	
+	public List<ZEEDResult<String>> encryptAll(String[] plains, String userKey) {
+		return encryptAll(Arrays.asList(plains), userKey) ;
+	}
+	
+	public List<ZEEDResult<String>> encryptAll(String[] plains, String userKey, Charset charset, EncodingTable encodingTable) {
+		return encryptAll(Arrays.asList(plains), userKey, charset, encodingTable) ;
+	}
+	
+	/**
+	 * 여러 건 복호화하기 (DB Column 복호화 등)
+	 * 키 확장은 한 번만 하고, setParallelism()이 되어 있으면 여러 Thread로 나누어 처리한다.
+	 * @param ciphers		복호화할 암호문들 [ Base62처리된 ( https://github.com/zhangsob/Base62/ ) ]
+	 * @param userKey		복호화키 (암호화키와 동일)
+	 * @return 입력 순서대로 건별 결과 (null 암호문은 null 결과)
+	 */
+	public List<ZEEDResult<String>> decryptAll(List<String> ciphers, String userKey) {
+		return decryptAll(ciphers, userKey, Charset.defaultCharset(), null) ;
+	}
+	
+	/**
+	 * 여러 건 복호화하기 (DB Column 복호화 등)
+	 * @param ciphers		복호화할 암호문들
+	 * @param userKey		복호화키 (암호화키와 동일)
+	 * @param charset		암호화시 한글 Charset
+	 * @param encodingTable	암호화시 Binary를 String화 Encoding Table
+	 * @return 입력 순서대로 건별 결과 (null 암호문은 null 결과)
+	 */
+	public List<ZEEDResult<String>> decryptAll(List<String> ciphers, String userKey, Charset charset, EncodingTable encodingTable) {
+		this.setUserKey(userKey) ;
+		final Charset _charset = (charset == null) ? Charset.defaultCharset() : charset ;
+		return _batch(ciphers, (worker, cipher) -> new String(worker.decrypt(Decode(cipher, encodingTable)), _charset)) ;
+	}
+	
+	public List<ZEEDResult<String>> decryptAll(String[] ciphers, String userKey) {
+		return decryptAll(Arrays.asList(ciphers), userKey) ;
+	}
+	
+	public List<ZEEDResult<String>> decryptAll(String[] ciphers, String userKey, Charset charset, EncodingTable encodingTable) {
+		return decryptAll(Arrays.asList(ciphers), userKey, charset, encodingTable) ;
+	}
+	
+	/**
+	 * 여러 건을 Batch로 나누어, Batch마다 _copy()한 SEED 하나로 차례대로 처리하기
+	 * 건별 오류는 ZEEDResult에 담고, 다음 건을 계속 처리한다.
+	 */
+	private List<ZEEDResult<String>> _batch(List<String> values, BiFunction<SEED, String, String> function) {
+		final int count = values.size() ;
+		final List<ZEEDResult<String>> ret = new ArrayList<ZEEDResult<String>>(Collections.nCopies(count, (ZEEDResult<String>)null)) ;
 
+		if (parallel_executor == null || count < _BATCH_SIZE * 2) {
+			_Apply(_copy(), values, 0, count, function, ret) ;
+			return ret ;
+		}
+
+		int batch_size = Math.max(_BATCH_SIZE, count / (SEEDParallel.parallelism(parallel_executor) * 4) + 1) ;
+		List<Callable<Void>> tasks = new ArrayList<Callable<Void>>() ;
+		for(int offset = 0; offset < count; offset += batch_size) {
+			final int from = offset ;
+			final int to = Math.min(offset + batch_size, count) ;
+			tasks.add(() -> {
+				_Apply(_copy(), values, from, to, function, ret) ;
+				return null ;
+			}) ;
+		}
+		SEEDParallel.invokeAll(parallel_executor, tasks) ;
+		return ret ;
+	}
+	
+	private static void _Apply(SEED worker, List<String> values, int from, int to, BiFunction<SEED, String, String> function, List<ZEEDResult<String>> ret) {
+		for(int i = from; i < to; ++i)
+			ret.set(i, _Apply(worker, values.get(i), function)) ;
+	}
+	
+	private static ZEEDResult<String> _Apply(SEED worker, String value, BiFunction<SEED, String, String> function) {
+		if (value == null)	return ZEEDResult.ok(null) ;
+		try {
+			return ZEEDResult.ok(function.apply(worker, value)) ;
+		} catch (ZEEDException e) {
+			return ZEEDResult.fail(e.getError(), e.getMessage()) ;
+		} catch (IllegalArgumentException e) {
+			return ZEEDResult.fail(Error.INVALID_DECODING_CHARACTER, e.getMessage()) ;
+		}
+	}
+}
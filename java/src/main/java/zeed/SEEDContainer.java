@@ -0,0 +1,354 @@
+package zeed;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * 일부분만 복호화할 수 있는(Random Access) 암호화 Container 파일
+ * <p>
+ * 평문을 같은 크기(chunkSize)의 Chunk로 나누어 Chunk마다 따로(각자의 IV/Counter로) 암호화하고, 끝에 Chunk 색인을 둔다.
+ * 일부분만 필요하면 그 부분이 들어 있는 Chunk만 읽어서 복호화한다.
+ * <pre>
+ * [ Header  : MAGIC (8) | mode (1) | padding (1) | bit (2) | chunk_size (4) | 평문 길이 (8) ]
+ * [ Chunk 0 : IV/Counter (16) | 암호문 (SEED.encrypt() 결과, Padding 포함) ]
+ * [ Chunk 1 : ... ]
+ * [ 색인    : Chunk 수 × ( Chunk 위치 (8) | Chunk 길이 (4) ) ]
+ * [ Footer  : 색인 위치 (8) | MAGIC (8) ]
+ * </pre>
+ * mode, padding, bit는 Mode.mode(), Padding.padding(), Bit.bit() 값이다.
+ * SEED.setParallelism()이 되어 있으면 여러 Chunk를 동시에 암/복호화한다. (한번에 병렬 처리 수 × 4개씩)
+ * <pre>
+ * SEEDContainer.encrypt(seed, Paths.get("data.bin"), Paths.get("data.zc")) ;
+ * try (SEEDContainer container = SEEDContainer.open(seed, Paths.get("data.zc"))) {
+ *     byte[] slice = container.read(position, length) ;
+ * }
+ * </pre>
+ * 열어둔 SEEDContainer는 여러 Thread에서 동시에 read()해도 된다.
+ */
+public final class SEEDContainer implements Closeable {
+	/** 기본 Chunk 크기 */
+	public static final int DEFAULT_CHUNK_SIZE = 64 * 1024 ;
+	private static final int _BLOCK_SIZE = 16 ;
+	private static final long _MAGIC = 0x5A454544434E5432L ;	// "ZEEDCNT2"
+	private static final int _HEADER_SIZE = 24 ;
+	private static final int _FOOTER_SIZE = 16 ;
+	private static final int _INDEX_ENTRY_SIZE = 12 ;
+	private static final SecureRandom _RANDOM = new SecureRandom() ;
+
+	private final SEED seed ;
+	private final FileChannel channel ;
+	private final int chunk_size ;
+	private final long length ;
+	/** Chunk 위치 */
+	private final long[] offsets ;
+	/** Chunk 길이 (IV 포함) */
+	private final int[] sizes ;
+
+	private SEEDContainer(SEED seed, FileChannel channel, int chunk_size, long length, long[] offsets, int[] sizes) {
+		this.seed = seed ;
+		this.channel = channel ;
+		this.chunk_size = chunk_size ;
+		this.length = length ;
+		this.offsets = offsets ;
+		this.sizes = sizes ;
+	}
+
+	/**
+	 * 파일을 Container로 암호화하기 (Chunk 크기는 DEFAULT_CHUNK_SIZE)
+	 * @param seed		키, Mode, Bit, Padding이 설정된 SEED (IV/Counter는 Chunk마다 새로 만든다.)
+	 * @param source	암호화할 파일(평문)
+	 * @param target	Container 파일 (있으면 덮어쓴다.)
+	 * @return Container 파일 길이
+	 */
+	public static long encrypt(SEED seed, Path source, Path target) throws IOException {
+		return encrypt(seed, source, target, DEFAULT_CHUNK_SIZE) ;
+	}
+
+	/**
+	 * 파일을 Container로 암호화하기
+	 * @param seed		키, Mode, Bit, Padding이 설정된 SEED (IV/Counter는 Chunk마다 새로 만든다.)
+	 * @param source	암호화할 파일(평문)
+	 * @param target	Container 파일 (있으면 덮어쓴다. source와 같은 파일이면 안 된다.)
+	 * @param chunkSize	Chunk 크기 (16의 배수)
+	 * @return Container 파일 길이
+	 */
+	public static long encrypt(SEED seed, Path source, Path target, int chunkSize) throws IOException {
+		if (seed.roundKey.length == 0)	throw new ZEEDException(SEED.Error.KEY_LENGTH, "userKey length is zero") ;
+		if (chunkSize < _BLOCK_SIZE || (chunkSize % _BLOCK_SIZE) != 0)	throw new IllegalArgumentException("chunkSize % 16 != 0") ;
+		if (Files.exists(target) && Files.isSameFile(source, target))	throw new IllegalArgumentException("source and target are the same file") ;
+
+		try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+			 FileChannel out = FileChannel.open(target, StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			long length = in.size() ;
+			long chunk_count = (length + chunkSize - 1) / chunkSize ;
+			if (chunk_count > Integer.MAX_VALUE / _INDEX_ENTRY_SIZE)	throw new IllegalArgumentException("too many chunks (chunkSize is too small)") ;
+			int count = (int)chunk_count ;
+
+			ByteBuffer header = ByteBuffer.allocate(_HEADER_SIZE) ;
+			header.putLong(_MAGIC).put((byte)seed.mode.mode()).put((byte)seed.padding.padding()).putShort((short)seed.bit.bit()) ;
+			header.putInt(chunkSize).putLong(length).flip() ;
+			_Write(out, 0, header) ;
+
+			// 마지막 Chunk 외에는 길이가 같으므로 위치를 미리 알 수 있다.
+			int full_size = _ChunkSize(chunkSize) ;
+			ByteBuffer index = ByteBuffer.allocate(count * _INDEX_ENTRY_SIZE) ;
+			long offset = _HEADER_SIZE ;
+			for(int i = 0; i < count; ++i) {
+				int size = _ChunkSize((int)Math.min(chunkSize, length - (long)i * chunkSize)) ;
+				index.putLong(offset).putInt(size) ;
+				offset += size ;
+			}
+			_Run(seed, 0, count, (chunk) -> {
+				long plain_offset = (long)chunk * chunkSize ;
+				int plain_size = (int)Math.min(chunkSize, length - plain_offset) ;
+				byte[] plain = new byte[plain_size] ;
+				_Read(in, plain_offset, ByteBuffer.wrap(plain)) ;
+
+				byte[] data = new byte[_ChunkSize(plain_size)] ;
+				_NewIV(data) ;
+				SEED worker = _Worker(seed, data) ;
+				worker.encrypt(plain, 0, plain_size, data, _BLOCK_SIZE) ;
+				_Write(out, _HEADER_SIZE + (long)chunk * full_size, ByteBuffer.wrap(data)) ;
+			}) ;
+
+			index.flip() ;
+			_Write(out, offset, index) ;
+			ByteBuffer footer = ByteBuffer.allocate(_FOOTER_SIZE) ;
+			footer.putLong(offset).putLong(_MAGIC).flip() ;
+			_Write(out, offset + count * _INDEX_ENTRY_SIZE, footer) ;
+			return offset + count * _INDEX_ENTRY_SIZE + _FOOTER_SIZE ;
+		}
+	}
+
+	/**
+	 * Container 열기
+	 * @param seed	키가 설정된 SEED (Mode, Bit, Padding은 Container와 같아야 한다.)
+	 * @param file	Container 파일
+	 */
+	public static SEEDContainer open(SEED seed, Path file) throws IOException {
+		if (seed.roundKey.length == 0)	throw new ZEEDException(SEED.Error.KEY_LENGTH, "userKey length is zero") ;
+
+		FileChannel channel = FileChannel.open(file, StandardOpenOption.READ) ;
+		try {
+			long file_size = channel.size() ;
+			if (file_size < _HEADER_SIZE + _FOOTER_SIZE)	throw new ZEEDException(SEED.Error.CONTAINER_FORMAT, "file is too small") ;
+
+			ByteBuffer header = ByteBuffer.allocate(_HEADER_SIZE) ;
+			_Read(channel, 0, header) ;
+			header.flip() ;
+			if (header.getLong() != _MAGIC)	throw new ZEEDException(SEED.Error.CONTAINER_FORMAT, "invalid magic") ;
+			int mode = header.get(), padding = header.get(), bit = header.getShort() ;
+			if (mode != seed.mode.mode() || bit != seed.bit.bit() || padding != seed.padding.padding())
+				throw new ZEEDException(SEED.Error.CONTAINER_FORMAT, "mode/bit/padding mismatch") ;
+			int chunk_size = header.getInt() ;
+			long length = header.getLong() ;
+			if (chunk_size < _BLOCK_SIZE || length < 0)	throw new ZEEDException(SEED.Error.CONTAINER_FORMAT, "invalid header") ;
+
+			ByteBuffer footer = ByteBuffer.allocate(_FOOTER_SIZE) ;
+			_Read(channel, file_size - _FOOTER_SIZE, footer) ;
+			footer.flip() ;
+			long index_offset = footer.getLong() ;
+			if (footer.getLong() != _MAGIC)	throw new ZEEDException(SEED.Error.CONTAINER_FORMAT, "invalid footer") ;
+
+			long count = (length + chunk_size - 1) / chunk_size ;
+			if (index_offset < _HEADER_SIZE || index_offset + count * _INDEX_ENTRY_SIZE != file_size - _FOOTER_SIZE)
+				throw new ZEEDException(SEED.Error.CONTAINER_FORMAT, "invalid index") ;
+
+			ByteBuffer index = ByteBuffer.allocate((int)count * _INDEX_ENTRY_SIZE) ;
+			_Read(channel, index_offset, index) ;
+			index.flip() ;
+			long[] offsets = new long[(int)count] ;
+			int[] sizes = new int[(int)count] ;
+			for(int i = 0; i < count; ++i) {
+				offsets[i] = index.getLong() ;
+				sizes[i] = index.getInt() ;
+				if (offsets[i] < _HEADER_SIZE || sizes[i] < 2 * _BLOCK_SIZE || (sizes[i] % _BLOCK_SIZE) != 0 || offsets[i] + sizes[i] > index_offset)
+					throw new ZEEDException(SEED.Error.CONTAINER_FORMAT, "invalid chunk " + i) ;
+			}
+			return new SEEDContainer(seed, channel, chunk_size, length, offsets, sizes) ;
+		} catch (IOException | RuntimeException e) {
+			channel.close() ;
+			throw e ;
+		}
+	}
+
+	/**
+	 * Container 전체를 복호화하기
+	 * 첫 Chunk를 먼저 복호화해 보므로, 키가 틀리면 target을 건드리지 않는다.
+	 * @param seed		키가 설정된 SEED (Mode, Bit, Padding은 Container와 같아야 한다.)
+	 * @param source	Container 파일
+	 * @param target	원문 파일 (있으면 덮어쓴다.)
+	 * @return target 길이
+	 */
+	public static long decrypt(SEED seed, Path source, Path target) throws IOException {
+		try (SEEDContainer container = open(seed, source)) {
+			byte[] first = (container.chunkCount() == 0) ? null : container._decryptChunk(0) ;
+			try (FileChannel out = FileChannel.open(target, StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+				if (first == null)	return 0 ;
+
+				_Write(out, 0, ByteBuffer.wrap(first, 0, container._plainSize(0))) ;
+				_Run(seed, 1, container.chunkCount(), (chunk) -> {
+					byte[] plain = container._decryptChunk(chunk) ;
+					_Write(out, (long)chunk * container.chunk_size, ByteBuffer.wrap(plain, 0, container._plainSize(chunk))) ;
+				}) ;
+				return container.length ;
+			}
+		}
+	}
+
+	/**
+	 * @return 평문 길이
+	 */
+	public long length() {
+		return length ;
+	}
+
+	public int chunkSize() {
+		return chunk_size ;
+	}
+
+	public int chunkCount() {
+		return offsets.length ;
+	}
+
+	/**
+	 * 일부분만 복호화하기 (그 부분이 들어 있는 Chunk만 읽는다.)
+	 * @param position	평문에서의 위치
+	 * @param size		읽을 길이 (끝을 넘으면 끝까지)
+	 * @return 복호화된 평문
+	 */
+	public byte[] read(long position, int size) throws IOException {
+		if (position < 0 || size < 0)	throw new IllegalArgumentException("position < 0 || size < 0") ;
+		if (position >= length)		return new byte[0] ;
+
+		final byte[] ret = new byte[(int)Math.min(size, length - position)] ;
+		if (ret.length == 0)	return ret ;
+
+		int first = (int)(position / chunk_size) ;
+		int last = (int)((position + ret.length - 1) / chunk_size) ;
+		_Run(seed, first, last + 1, (chunk) -> {
+			byte[] plain = _decryptChunk(chunk) ;
+			long chunk_position = (long)chunk * chunk_size ;
+			long from = Math.max(position, chunk_position) ;
+			long to = Math.min(position + ret.length, chunk_position + _plainSize(chunk)) ;
+			System.arraycopy(plain, (int)(from - chunk_position), ret, (int)(from - position), (int)(to - from)) ;
+		}) ;
+		return ret ;
+	}
+
+	@Override
+	public void close() throws IOException {
+		channel.close() ;
+	}
+
+	/**
+	 * Chunk 하나 복호화하기
+	 * @return 평문 (앞 _plainSize(chunk) 만큼)
+	 */
+	private byte[] _decryptChunk(int chunk) throws IOException {
+		byte[] data = new byte[sizes[chunk]] ;
+		_Read(channel, offsets[chunk], ByteBuffer.wrap(data)) ;
+
+		byte[] plain = new byte[data.length - _BLOCK_SIZE] ;
+		int plain_size = _Worker(seed, data).decrypt(data, _BLOCK_SIZE, data.length - _BLOCK_SIZE, plain, 0) ;
+		if (plain_size != _plainSize(chunk))	throw new ZEEDException(SEED.Error.PADDING, "chunk " + chunk + " padding does not match its length") ;
+		return plain ;
+	}
+
+	private int _plainSize(int chunk) {
+		return (int)Math.min(chunk_size, length - (long)chunk * chunk_size) ;
+	}
+
+	/**
+	 * Chunk 길이 (IV + Padding 포함 암호문)
+	 */
+	private static int _ChunkSize(int plain_size) {
+		return _BLOCK_SIZE + (plain_size / _BLOCK_SIZE + 1) * _BLOCK_SIZE ;
+	}
+
+	/**
+	 * Chunk 앞 16 Byte에 새 IV/Counter 넣기
+	 */
+	private static void _NewIV(byte[] chunk) {
+		byte[] iv = new byte[_BLOCK_SIZE] ;
+		_RANDOM.nextBytes(iv) ;
+		System.arraycopy(iv, 0, chunk, 0, _BLOCK_SIZE) ;
+	}
+
+	/**
+	 * Chunk용 SEED (키는 공유하고, IV/Counter는 Chunk 앞 16 Byte)
+	 */
+	private static SEED _Worker(SEED seed, byte[] chunk) {
+		SEED worker = seed._copy() ;
+		byte[] iv = new byte[_BLOCK_SIZE] ;
+		System.arraycopy(chunk, 0, iv, 0, _BLOCK_SIZE) ;
+		worker.setInitialVector(iv) ;
+		worker.setCounter(iv) ;
+		return worker ;
+	}
+
+	/**
+	 * Chunk 처리 작업
+	 */
+	private interface _Task {
+		void run(int chunk) throws IOException ;
+	}
+
+	/**
+	 * from부터 to 전까지의 Chunk마다 작업을 실행하기 (SEED.setParallelism()이 되어 있으면 동시에)
+	 * Chunk 수만큼 작업을 한번에 만들지 않도록, 병렬 처리 수 × 4개씩 나누어 실행한다.
+	 */
+	private static void _Run(SEED seed, int from, int to, _Task task) throws IOException {
+		if (seed.parallel_executor == null || to - from < 2) {
+			for(int chunk = from; chunk < to; ++chunk)
+				task.run(chunk) ;
+			return ;
+		}
+
+		int wave = (int)Math.min(SEEDParallel.parallelism(seed.parallel_executor) * 4L, Runtime.getRuntime().availableProcessors() * 4L) ;
+		List<Callable<Void>> callables = new ArrayList<Callable<Void>>(Math.min(wave, to - from)) ;
+		for(int start = from; start < to; start += wave) {
+			callables.clear() ;
+			for(int i = start; i < Math.min(start + wave, to); ++i) {
+				final int chunk = i ;
+				callables.add(() -> {
+					try {
+						task.run(chunk) ;
+					} catch (IOException e) {
+						throw new UncheckedIOException(e) ;
+					}
+					return null ;
+				}) ;
+			}
+			try {
+				SEEDParallel.invokeAll(seed.parallel_executor, callables) ;
+			} catch (UncheckedIOException e) {
+				throw e.getCause() ;
+			}
+		}
+	}
+
+	private static void _Read(FileChannel channel, long position, ByteBuffer buffer) throws IOException {
+		long start = position - buffer.position() ;
+		while (buffer.hasRemaining()) {
+			if (channel.read(buffer, start + buffer.position()) < 0)
+				throw new ZEEDException(SEED.Error.CONTAINER_FORMAT, "unexpected end of file") ;
+		}
+	}
+
+	private static void _Write(FileChannel channel, long position, ByteBuffer buffer) throws IOException {
+		long start = position - buffer.position() ;
+		while (buffer.hasRemaining())
+			channel.write(buffer, start + buffer.position()) ;
+	}
+}
@@ -0,0 +1,31 @@
+package zeed;
+
+/**
+ * 여러 Block을 한번에 처리하는 SEED 엔진
+ * <p>
+ * Block간 의존성이 없는 경우(ECB, CTR Key Stream, CBC 복호화)에만 쓴다.
+ * in과 out은 같은 Buffer여도 된다.
+ */
+interface SEEDEngine {
+	/**
+	 * 여러 block(128 bit) 암호화
+	 * @param in		암호화할 Data
+	 * @param i_offset	in offset
+	 * @param out		암호화된 Data
+	 * @param o_offset	out offset
+	 * @param blocks	Block 수
+	 * @param roundKey	암호화 Round Key
+	 */
+	void encrypt(byte[] in, int i_offset, byte[] out, int o_offset, int blocks, int[] roundKey) ;
+
+	/**
+	 * 여러 block(128 bit) 복호화
+	 * @param in		복호화할 Data
+	 * @param i_offset	in offset
+	 * @param out		복호화된 Data
+	 * @param o_offset	out offset
+	 * @param blocks	Block 수
+	 * @param roundKey	복호화 Round Key
+	 */
+	void decrypt(byte[] in, int i_offset, byte[] out, int o_offset, int blocks, int[] roundKey) ;
+}
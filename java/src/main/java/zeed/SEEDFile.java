@@ -0,0 +1,719 @@
+package zeed;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+
+/**
+ * 파일 암/복호화 (Path to Path)
+ * <p>
+ * 원본과 결과 파일을 FileChannel.map()으로 Memory-Mapping하여 Chunk씩 SEED의 여러 Block 처리(엔진)로 암/복호화한다.
+ * 결과는 SEED.encrypt(InputStream, OutputStream) / SEED.decrypt(InputStream, OutputStream)과 같다.
+ * <p>
+ * SEED.setParallelism()이 되어 있으면 ECB, CTR(및 CBC 복호화)는 파일을 영역으로 나누어 동시에 처리한다.
+ * MappedByteBuffer는 2GB를 넘을 수 없으므로, 한 영역은 _MAX_MAP_SIZE 이하로 나누어 Mapping한다.
+ * <pre>
+ * seed.setParallelism(ForkJoinPool.commonPool()) ;
+ * long length = SEEDFile.encrypt(seed, Paths.get("data.bin"), Paths.get("data.bin.seed")) ;
+ * </pre>
+ * 임시 파일 없이 파일 자체를 암/복호화하려면 encryptInPlace() / decryptInPlace()를 쓴다.
+ * Memory-Mapping 대신 읽기/암호화/쓰기를 겹쳐서 하려면 encryptPipelined() / decryptPipelined()를 쓴다.
+ */
+public final class SEEDFile {
+	private static final int _BLOCK_SIZE = 16 ;
+	/** 한번에 Heap으로 옮겨 처리하는 크기 */
+	private static final int _CHUNK_SIZE = 64 * 1024 ;
+	/** 한번에 Mapping하는 최대 크기 (16의 배수) */
+	private static final long _MAX_MAP_SIZE = 1L << 30 ;
+	/** 병렬 처리시 영역 최소 크기 */
+	private static final long _MIN_REGION_SIZE = 1024 * 1024 ;
+	/** 제자리 암/복호화시 한번에 덮어쓰는 기본 크기 (Journal 파일 크기는 이것의 2배 정도) */
+	public static final int DEFAULT_IN_PLACE_REGION_SIZE = 4 * 1024 * 1024 ;
+	/** 제자리 암/복호화 Journal 파일 이름 뒤에 붙는 것 */
+	public static final String JOURNAL_SUFFIX = ".zjournal" ;
+	/** Pipeline 암/복호화 기본 Chunk 크기 */
+	public static final int DEFAULT_PIPELINE_CHUNK_SIZE = 1024 * 1024 ;
+	/** Pipeline Buffer 수 (읽기, 암/복호화, 쓰기) */
+	private static final int _PIPELINE_DEPTH = 3 ;
+
+	private SEEDFile() {
+	}
+
+	/**
+	 * 파일 암호화하기
+	 * @param seed		키, Mode, Padding 등이 설정된 SEED
+	 * @param source	암호화할 파일(평문)
+	 * @param target	암호문 파일 (있으면 덮어쓴다. source와 같은 파일이면 안 된다.)
+	 * @return target 길이
+	 */
+	public static long encrypt(SEED seed, Path source, Path target) throws IOException {
+		if (seed.roundKey.length == 0)	throw new ZEEDException(SEED.Error.KEY_LENGTH, "userKey length is zero") ;
+		_CheckNotSame(source, target) ;
+
+		try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+			 FileChannel out = _OpenTarget(target)) {
+			long length = in.size() ;
+			if (length == 0)	return 0 ;	// empty file
+
+			seed.init(SEED.Action.ENCRYPT) ;
+
+			long full_length = (length / _BLOCK_SIZE) * _BLOCK_SIZE ;
+			byte[] last = new byte[_BLOCK_SIZE] ;
+			_Read(in, full_length, last, (int)(length - full_length)) ;
+			seed._PaddingLast(last, 0, (int)(length - full_length), last, 0) ;
+
+			_run(seed, true, in, out, full_length) ;
+
+			seed._bulkEncrypt(last, 0, last, 0, _BLOCK_SIZE) ;
+			_Write(out, full_length, last, _BLOCK_SIZE) ;
+			return full_length + _BLOCK_SIZE ;
+		}
+	}
+
+	/**
+	 * 파일 복호화하기
+	 * 마지막 Block(Padding)을 먼저 확인하므로, 키가 틀리면 target에 아무것도 쓰지 않는다.
+	 * @param seed		키, Mode, Padding 등이 설정된 SEED
+	 * @param source	복호화할 파일(암호문, 16의 배수)
+	 * @param target	원문 파일 (있으면 덮어쓴다. source와 같은 파일이면 안 된다.)
+	 * @return target 길이
+	 */
+	public static long decrypt(SEED seed, Path source, Path target) throws IOException {
+		if (seed.roundKey.length == 0)	throw new ZEEDException(SEED.Error.KEY_LENGTH, "userKey length is zero") ;
+		_CheckNotSame(source, target) ;
+
+		try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ)) {
+			long length = in.size() ;
+			if ((length % _BLOCK_SIZE) != 0)	throw new ZEEDException(SEED.Error.CIPHER_LENGTH, "cipher length % 16 != 0", false) ;
+
+			seed.init(SEED.Action.DECRYPT) ;
+
+			// 마지막 Block (CBC이면 바로 앞 Block까지)
+			int tail = (int)Math.min(length, 2 * _BLOCK_SIZE) ;
+			byte[] tail_block = new byte[2 * _BLOCK_SIZE] ;
+			_Read(in, length - tail, tail_block, tail_block.length - tail, tail) ;
+			if (length != 0)	seed._checkLast(tail_block, _BLOCK_SIZE, length) ;
+
+			try (FileChannel out = _OpenTarget(target)) {
+				if (length == 0)	return 0 ;	// empty file
+
+				long body_length = length - _BLOCK_SIZE ;
+				_run(seed, false, in, out, body_length) ;
+
+				seed._bulkDecrypt(tail_block, _BLOCK_SIZE, tail_block, _BLOCK_SIZE, _BLOCK_SIZE) ;
+				int last_length = _BLOCK_SIZE - seed._GetPaddingCount(tail_block, tail_block.length) ;
+				_Write(out, body_length, tail_block, _BLOCK_SIZE, last_length) ;
+				return body_length + last_length ;
+			}
+		}
+	}
+
+	/**
+	 * 파일을 제자리에서 암호화하기 (임시 파일 없이 덮어쓰므로, 길이는 마지막 Padding Block만큼만 늘어난다.)
+	 * Journal(file + JOURNAL_SUFFIX)에 덮어쓸 영역의 암호문을 먼저 남기므로, 도중에 멈추면(Crash 등)
+	 * 같은 SEED(키, Mode, Padding, IV/Counter)로 다시 부르면 이어서 처리한다.
+	 * Journal에는 암호문만 남으므로, 평문이 다른 파일로 새지 않는다.
+	 * 다른 SEED로 부르면 Journal Header의 확인값이 달라 IllegalStateException이 나고, 파일과 Journal은 그대로 둔다.
+	 * 결과는 SEED.encrypt(InputStream, OutputStream)과 같다. (CTR도 Padding을 붙인다.)
+	 * @param seed	키, Mode, Padding 등이 설정된 SEED
+	 * @param file	암호화할 파일
+	 * @return 암호화된 파일 길이
+	 */
+	public static long encryptInPlace(SEED seed, Path file) throws IOException {
+		return encryptInPlace(seed, file, DEFAULT_IN_PLACE_REGION_SIZE) ;
+	}
+
+	/**
+	 * 파일을 제자리에서 암호화하기
+	 * @param seed			키, Mode, Padding 등이 설정된 SEED
+	 * @param file			암호화할 파일
+	 * @param regionSize	한번에 덮어쓰는 크기 (16의 배수)
+	 * @return 암호화된 파일 길이
+	 */
+	public static long encryptInPlace(SEED seed, Path file, int regionSize) throws IOException {
+		return _InPlace(seed, SEED.Action.ENCRYPT, file, regionSize) ;
+	}
+
+	/**
+	 * 파일을 제자리에서 복호화하기 (길이는 Padding만큼 줄어든다.)
+	 * 처음 시작할 때 마지막 Block(Padding)을 먼저 확인하므로, 키가 틀리면 파일을 건드리지 않는다.
+	 * 도중에 멈추면 같은 SEED로 다시 부르면 이어서 처리한다.
+	 * @param seed	키, Mode, Padding 등이 설정된 SEED
+	 * @param file	복호화할 파일(암호문, 16의 배수)
+	 * @return 복호화된 파일 길이
+	 */
+	public static long decryptInPlace(SEED seed, Path file) throws IOException {
+		return decryptInPlace(seed, file, DEFAULT_IN_PLACE_REGION_SIZE) ;
+	}
+
+	/**
+	 * 파일을 제자리에서 복호화하기
+	 * @param seed			키, Mode, Padding 등이 설정된 SEED
+	 * @param file			복호화할 파일(암호문, 16의 배수)
+	 * @param regionSize	한번에 덮어쓰는 크기 (16의 배수)
+	 * @return 복호화된 파일 길이
+	 */
+	public static long decryptInPlace(SEED seed, Path file, int regionSize) throws IOException {
+		return _InPlace(seed, SEED.Action.DECRYPT, file, regionSize) ;
+	}
+
+	/**
+	 * @return 제자리 암/복호화 Journal 파일 (있으면 처리 도중 멈춘 것이다.)
+	 */
+	public static Path journalOf(Path file) {
+		return file.resolveSibling(file.getFileName() + JOURNAL_SUFFIX) ;
+	}
+
+	/**
+	 * 제자리 암/복호화
+	 * 영역마다 [ Journal에 기록 → force → 파일에 결과 덮어쓰기 → force ] 순서로 처리한다.
+	 * 암호화는 결과(암호문)를 기록하고 다시 부르면 다시 쓰며(Redo), 복호화는 원본(암호문)과 시작 상태를 기록하고 되돌린다(Undo).
+	 * 어느 쪽이든 Journal에는 암호문만 남는다.
+	 * 마지막 영역(암호화는 Block이 덜 찬 끝부분, 복호화는 마지막 Block)은 Padding을 붙이거나 빼서 길이를 바꾼다.
+	 */
+	private static long _InPlace(SEED seed, SEED.Action action, Path file, int regionSize) throws IOException {
+		if (seed.roundKey.length == 0)	throw new ZEEDException(SEED.Error.KEY_LENGTH, "userKey length is zero") ;
+		if (regionSize < _BLOCK_SIZE || (regionSize % _BLOCK_SIZE) != 0)	throw new IllegalArgumentException("regionSize % 16 != 0") ;
+
+		boolean isEncrypt = (action == SEED.Action.ENCRYPT) ;
+		Path journal_file = journalOf(file) ;
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			seed.init(action) ;
+
+			_Journal journal = _Journal.open(journal_file, seed, action) ;
+			long offset = 0 ;
+			long length = channel.size() ;
+			if (journal != null && journal.offset >= 0 && isEncrypt) {	// 마지막 기록을 다시 쓰고 그 다음부터
+				_Write(channel, journal.offset, journal.data, journal.data_length) ;
+				channel.force(true) ;
+				offset = journal.offset + journal.data_length ;
+				length = journal.file_length ;
+				regionSize = journal.region_size ;
+				if (journal.offset == (length / _BLOCK_SIZE) * _BLOCK_SIZE) {	// 마지막 영역까지 기록됨
+					journal.close() ;
+					Files.delete(journal_file) ;
+					return offset ;
+				}
+				seed._advance(offset, journal.data, journal.data_length - _BLOCK_SIZE) ;
+			}
+			else if (journal != null && journal.offset >= 0) {	// 멈춘 곳부터 다시 (덮어쓰던 영역은 원본으로 되돌린다.)
+				_Write(channel, journal.offset, journal.data, journal.data_length) ;
+				channel.truncate(journal.file_length) ;
+				channel.force(true) ;
+				offset = journal.offset ;
+				length = journal.file_length ;
+				regionSize = journal.region_size ;
+				seed._advance(offset, journal.state, 0) ;
+			}
+			else {
+				if (journal != null)	journal.close() ;	// 기록 전에 멈춤 (파일은 그대로)
+				if (length == 0)	{ Files.deleteIfExists(journal_file) ; return 0 ; }	// empty file
+				if (!isEncrypt) {
+					if ((length % _BLOCK_SIZE) != 0)	throw new ZEEDException(SEED.Error.CIPHER_LENGTH, "cipher length % 16 != 0", false) ;
+
+					int tail = (int)Math.min(length, 2 * _BLOCK_SIZE) ;
+					byte[] tail_block = new byte[2 * _BLOCK_SIZE] ;
+					_Read(channel, length - tail, tail_block, tail_block.length - tail, tail) ;
+					seed._checkLast(tail_block, _BLOCK_SIZE, length) ;	// 키가 틀리면 파일을 건드리지 않는다.
+				}
+				journal = _Journal.create(journal_file, seed, action, regionSize) ;
+			}
+
+			try {
+				long body_length = isEncrypt ? (length / _BLOCK_SIZE) * _BLOCK_SIZE : length - _BLOCK_SIZE ;
+				byte[] region = new byte[regionSize] ;
+				byte[] state = new byte[_BLOCK_SIZE] ;
+				while (offset < body_length) {
+					int size = (int)Math.min(regionSize, body_length - offset) ;
+					_Read(channel, offset, region, size) ;
+					if (seed.mode == SEED.Mode.CBC)	System.arraycopy(seed.seasoning, 0, state, 0, _BLOCK_SIZE) ;
+					if (isEncrypt) {
+						seed._bulkEncrypt(region, 0, region, 0, size) ;
+						journal.write(offset, length, state, region, size) ;
+					}
+					else {
+						journal.write(offset, length, state, region, size) ;
+						seed._bulkDecrypt(region, 0, region, 0, size) ;
+					}
+					_Write(channel, offset, region, size) ;
+					channel.force(false) ;
+					offset += size ;
+				}
+
+				// 마지막 영역
+				int last_size = (int)(length - body_length) ;
+				byte[] last = new byte[_BLOCK_SIZE] ;
+				_Read(channel, body_length, last, last_size) ;
+				if (seed.mode == SEED.Mode.CBC)	System.arraycopy(seed.seasoning, 0, state, 0, _BLOCK_SIZE) ;
+
+				long ret ;
+				if (isEncrypt) {
+					seed._PaddingLast(last, 0, last_size, last, 0) ;
+					seed._bulkEncrypt(last, 0, last, 0, _BLOCK_SIZE) ;
+					journal.write(body_length, length, state, last, _BLOCK_SIZE) ;
+					_Write(channel, body_length, last, _BLOCK_SIZE) ;
+					ret = body_length + _BLOCK_SIZE ;
+				}
+				else {
+					journal.write(body_length, length, state, last, last_size) ;
+					seed._bulkDecrypt(last, 0, last, 0, _BLOCK_SIZE) ;
+					int last_length = _BLOCK_SIZE - seed._GetPaddingCount(last, _BLOCK_SIZE) ;
+					_Write(channel, body_length, last, last_length) ;
+					ret = body_length + last_length ;
+					channel.truncate(ret) ;
+				}
+				channel.force(true) ;
+				journal.close() ;
+				Files.delete(journal_file) ;
+				return ret ;
+			} finally {
+				journal.close() ;
+			}
+		}
+	}
+
+	/**
+	 * 파일 암호화하기 (AsynchronousFileChannel로 읽기/암호화/쓰기를 겹쳐서)
+	 * Chunk N+1을 읽고 Chunk N-1을 쓰는 동안 Chunk N을 암호화하므로, 시간이 I/O와 CPU 중 큰 쪽에 가까워진다.
+	 * Chunk를 차례대로 처리하므로 CBC 암호화도 된다. (Chunk 안에서는 SEED.setParallelism()대로 병렬 처리)
+	 * 결과는 SEED.encrypt(InputStream, OutputStream)과 같다.
+	 * @param seed		키, Mode, Padding 등이 설정된 SEED
+	 * @param source	암호화할 파일(평문)
+	 * @param target	암호문 파일 (있으면 덮어쓴다. source와 같은 파일이면 안 된다.)
+	 * @return target 길이
+	 */
+	public static long encryptPipelined(SEED seed, Path source, Path target) throws IOException {
+		return encryptPipelined(seed, source, target, DEFAULT_PIPELINE_CHUNK_SIZE) ;
+	}
+
+	/**
+	 * 파일 암호화하기 (AsynchronousFileChannel로 읽기/암호화/쓰기를 겹쳐서)
+	 * @param seed		키, Mode, Padding 등이 설정된 SEED
+	 * @param source	암호화할 파일(평문)
+	 * @param target	암호문 파일 (있으면 덮어쓴다. source와 같은 파일이면 안 된다.)
+	 * @param chunkSize	한번에 읽고 쓰는 크기 (16의 배수)
+	 * @return target 길이
+	 */
+	public static long encryptPipelined(SEED seed, Path source, Path target, int chunkSize) throws IOException {
+		return _Pipeline(seed, SEED.Action.ENCRYPT, source, target, chunkSize) ;
+	}
+
+	/**
+	 * 파일 복호화하기 (AsynchronousFileChannel로 읽기/복호화/쓰기를 겹쳐서)
+	 * 마지막 Block(Padding)을 먼저 확인하므로, 키가 틀리면 target에 아무것도 쓰지 않는다.
+	 * @param seed		키, Mode, Padding 등이 설정된 SEED
+	 * @param source	복호화할 파일(암호문, 16의 배수)
+	 * @param target	원문 파일 (있으면 덮어쓴다. source와 같은 파일이면 안 된다.)
+	 * @return target 길이
+	 */
+	public static long decryptPipelined(SEED seed, Path source, Path target) throws IOException {
+		return decryptPipelined(seed, source, target, DEFAULT_PIPELINE_CHUNK_SIZE) ;
+	}
+
+	/**
+	 * 파일 복호화하기 (AsynchronousFileChannel로 읽기/복호화/쓰기를 겹쳐서)
+	 * @param seed		키, Mode, Padding 등이 설정된 SEED
+	 * @param source	복호화할 파일(암호문, 16의 배수)
+	 * @param target	원문 파일 (있으면 덮어쓴다. source와 같은 파일이면 안 된다.)
+	 * @param chunkSize	한번에 읽고 쓰는 크기 (16의 배수)
+	 * @return target 길이
+	 */
+	public static long decryptPipelined(SEED seed, Path source, Path target, int chunkSize) throws IOException {
+		return _Pipeline(seed, SEED.Action.DECRYPT, source, target, chunkSize) ;
+	}
+
+	/**
+	 * Pipeline 암/복호화
+	 * i번째 Chunk를 처리할 때 Buffer는 [ i+1: 읽는 중 | i: 처리 중 | i-1: 쓰는 중 ] 이다.
+	 * Chunk가 16의 배수이므로 결과의 위치는 원본과 같고, 마지막 Chunk에서 Padding을 붙이거나 뺀다.
+	 */
+	private static long _Pipeline(SEED seed, SEED.Action action, Path source, Path target, int chunkSize) throws IOException {
+		if (seed.roundKey.length == 0)	throw new ZEEDException(SEED.Error.KEY_LENGTH, "userKey length is zero") ;
+		if (chunkSize < _BLOCK_SIZE || (chunkSize % _BLOCK_SIZE) != 0)	throw new IllegalArgumentException("chunkSize % 16 != 0") ;
+		_CheckNotSame(source, target) ;
+
+		boolean isEncrypt = (action == SEED.Action.ENCRYPT) ;
+		try (AsynchronousFileChannel in = AsynchronousFileChannel.open(source, StandardOpenOption.READ)) {
+			long length = in.size() ;
+			seed.init(action) ;
+			if (!isEncrypt && length != 0) {
+				if ((length % _BLOCK_SIZE) != 0)	throw new ZEEDException(SEED.Error.CIPHER_LENGTH, "cipher length % 16 != 0", false) ;
+
+				int tail = (int)Math.min(length, 2 * _BLOCK_SIZE) ;
+				byte[] tail_block = new byte[2 * _BLOCK_SIZE] ;
+				_Pending.read(in, ByteBuffer.wrap(tail_block, tail_block.length - tail, tail).slice(), length - tail, tail).await() ;
+				seed._checkLast(tail_block, _BLOCK_SIZE, length) ;	// 키가 틀리면 target을 건드리지 않는다.
+			}
+
+			try (AsynchronousFileChannel out = AsynchronousFileChannel.open(target, StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+				if (length == 0)	return 0 ;	// empty file
+
+				long count = (length + chunkSize - 1) / chunkSize ;
+				ByteBuffer[] buffers = new ByteBuffer[_PIPELINE_DEPTH] ;
+				for(int i = 0; i < _PIPELINE_DEPTH; ++i)
+					buffers[i] = ByteBuffer.allocate(chunkSize + _BLOCK_SIZE) ;	// 마지막 Chunk의 Padding Block
+				_Pending[] reads = new _Pending[_PIPELINE_DEPTH] ;
+				_Pending[] writes = new _Pending[_PIPELINE_DEPTH] ;
+
+				reads[0] = _Pending.read(in, buffers[0], 0, (int)Math.min(chunkSize, length)) ;
+				long ret = 0 ;
+				for(long i = 0; i < count; ++i) {
+					int b = (int)(i % _PIPELINE_DEPTH) ;
+					long position = i * chunkSize ;
+					int size = (int)Math.min(chunkSize, length - position) ;
+					boolean isLast = (i + 1 == count) ;
+					reads[b].await() ;
+
+					if (!isLast) {	// 다음 Chunk 읽기 (그 Buffer를 쓰던 것이 끝난 후)
+						int next = (int)((i + 1) % _PIPELINE_DEPTH) ;
+						if (writes[next] != null)	writes[next].await() ;
+						reads[next] = _Pending.read(in, buffers[next], position + chunkSize, (int)Math.min(chunkSize, length - position - chunkSize)) ;
+					}
+
+					byte[] data = buffers[b].array() ;
+					int out_size = size ;
+					if (isEncrypt) {
+						int full_length = isLast ? (size / _BLOCK_SIZE) * _BLOCK_SIZE : size ;
+						seed._bulkEncrypt(data, 0, data, 0, full_length) ;
+						if (isLast) {
+							seed._PaddingLast(data, full_length, size - full_length, data, full_length) ;
+							seed._bulkEncrypt(data, full_length, data, full_length, _BLOCK_SIZE) ;
+							out_size = full_length + _BLOCK_SIZE ;
+						}
+					}
+					else {
+						seed._bulkDecrypt(data, 0, data, 0, size) ;
+						if (isLast)	out_size -= seed._GetPaddingCount(data, size) ;
+					}
+
+					writes[b] = _Pending.write(out, buffers[b], position, out_size) ;
+					ret += out_size ;
+				}
+
+				for(_Pending write : writes)
+					if (write != null)	write.await() ;
+				return ret ;
+			}
+		}
+	}
+
+	/**
+	 * AsynchronousFileChannel의 진행 중인 읽기/쓰기
+	 */
+	private static final class _Pending {
+		private final AsynchronousFileChannel channel ;
+		private final boolean isRead ;
+		private final ByteBuffer buffer ;
+		private final long position ;
+		private Future<Integer> future ;
+
+		private _Pending(AsynchronousFileChannel channel, boolean isRead, ByteBuffer buffer, long position, int length) {
+			this.channel = channel ;
+			this.isRead = isRead ;
+			this.buffer = buffer ;
+			this.position = position ;
+			buffer.clear().limit(length) ;
+			this.future = isRead ? channel.read(buffer, position) : channel.write(buffer, position) ;
+		}
+
+		static _Pending read(AsynchronousFileChannel channel, ByteBuffer buffer, long position, int length) {
+			return new _Pending(channel, true, buffer, position, length) ;
+		}
+
+		static _Pending write(AsynchronousFileChannel channel, ByteBuffer buffer, long position, int length) {
+			return new _Pending(channel, false, buffer, position, length) ;
+		}
+
+		/**
+		 * 끝날 때까지 기다리기 (적게 읽거나 썼으면 나머지를 이어서 한다.)
+		 */
+		void await() throws IOException {
+			for(;;) {
+				int n ;
+				try {
+					n = future.get() ;
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt() ;
+					throw new InterruptedIOException("interrupted") ;
+				} catch (ExecutionException e) {
+					Throwable cause = e.getCause() ;
+					if (cause instanceof IOException)	throw (IOException)cause ;
+					throw new IOException(cause) ;
+				}
+				if (!buffer.hasRemaining())	return ;
+				if (isRead && n < 0)		throw new IOException("unexpected end of file") ;
+
+				long next = position + buffer.position() ;
+				future = isRead ? channel.read(buffer, next) : channel.write(buffer, next) ;
+			}
+		}
+	}
+
+	/**
+	 * 앞 length(16의 배수) 만큼 암/복호화 (병렬 처리 가능하면 영역으로 나누어 동시에)
+	 */
+	private static void _run(SEED seed, boolean isEncrypt, FileChannel in, FileChannel out, long length) throws IOException {
+		ExecutorService executor = seed.parallel_executor ;
+		boolean parallel = executor != null && length >= seed.parallel_threshold && (seed.mode != SEED.Mode.CBC || !isEncrypt) ;
+		if (!parallel) {
+			for(long offset = 0; offset < length; offset += _MAX_MAP_SIZE)
+				_crypt(seed, isEncrypt, in, out, offset, Math.min(_MAX_MAP_SIZE, length - offset)) ;
+			return ;
+		}
+
+		long region_size = length / (Math.max(SEEDParallel.parallelism(executor), 1) * 4L) ;
+		region_size = Math.max((region_size + _BLOCK_SIZE - 1) / _BLOCK_SIZE * _BLOCK_SIZE, _MIN_REGION_SIZE) ;
+		region_size = Math.min(region_size, _MAX_MAP_SIZE) ;
+
+		List<Callable<Void>> tasks = new ArrayList<Callable<Void>>() ;
+		for(long offset = 0; offset < length; offset += region_size) {
+			byte[] previous = null ;
+			if (seed.mode == SEED.Mode.CBC && offset != 0) {
+				previous = new byte[_BLOCK_SIZE] ;
+				_Read(in, offset - _BLOCK_SIZE, previous, _BLOCK_SIZE) ;
+			}
+			final SEED worker = seed._fork(offset, previous) ;
+			final long region_offset = offset ;
+			final long region_length = Math.min(region_size, length - offset) ;
+			tasks.add(() -> {
+				try {
+					_crypt(worker, isEncrypt, in, out, region_offset, region_length) ;
+				} catch (IOException e) {
+					throw new UncheckedIOException(e) ;
+				}
+				return null ;
+			}) ;
+		}
+
+		byte[] last = new byte[_BLOCK_SIZE] ;
+		if (seed.mode == SEED.Mode.CBC)
+			_Read(in, length - _BLOCK_SIZE, last, _BLOCK_SIZE) ;
+		seed._advance(length, last, 0) ;
+
+		try {
+			SEEDParallel.invokeAll(executor, tasks) ;
+		} catch (UncheckedIOException e) {
+			throw e.getCause() ;
+		}
+	}
+
+	/**
+	 * [offset, offset + length) 를 Mapping하여 Chunk씩 차례대로 암/복호화 (length는 _MAX_MAP_SIZE 이하)
+	 */
+	private static void _crypt(SEED seed, boolean isEncrypt, FileChannel in, FileChannel out, long offset, long length) throws IOException {
+		if (length == 0)	return ;
+
+		MappedByteBuffer src = in.map(FileChannel.MapMode.READ_ONLY, offset, length) ;
+		MappedByteBuffer dst = out.map(FileChannel.MapMode.READ_WRITE, offset, length) ;
+		byte[] chunk = new byte[(int)Math.min(length, _CHUNK_SIZE)] ;
+		while (src.hasRemaining()) {
+			int size = Math.min(src.remaining(), chunk.length) ;
+			src.get(chunk, 0, size) ;
+			if (isEncrypt)	seed._bulkEncrypt(chunk, 0, chunk, 0, size) ;
+			else			seed._bulkDecrypt(chunk, 0, chunk, 0, size) ;
+			dst.put(chunk, 0, size) ;
+		}
+	}
+
+	/**
+	 * 제자리 암/복호화 Journal
+	 * <pre>
+	 * [ MAGIC (8) | action (4) | region_size (4) | mode (4) | bit (4) | padding (4) | check (16) ][ Slot 0 ][ Slot 1 ]
+	 * Slot = [ seq (8) | offset (8) | file_length (8) | data_length (4) | state (16) | CRC32 (8) | data (region_size) ]
+	 * </pre>
+	 * data는 암호화면 덮어쓸 결과(Redo), 복호화면 덮어쓸 원본(Undo)이므로 어느 쪽이든 암호문이다.
+	 * 두 Slot에 번갈아 쓰므로, 쓰는 도중 멈춰도 다른 Slot(바로 앞 영역)은 온전하다.
+	 * 다시 열면 CRC가 맞는 Slot 중 seq가 큰 것을 쓴다.
+	 * check는 SEED._checkValue()로, 다른 키나 iv / ctr로 이어서 처리하지 않도록 확인한다.
+	 */
+	private static final class _Journal {
+		private static final long _MAGIC = 0x5A4545444A524E33L ;	// "ZEEDJRN3"
+		private static final int _HEADER_SIZE = 8 + 4 + 4 + 4 + 4 + 4 + _BLOCK_SIZE ;
+		private static final int _SLOT_HEADER_SIZE = 8 + 8 + 8 + 4 + _BLOCK_SIZE + 8 ;
+
+		private final FileChannel channel ;
+		private final int region_size ;
+		private long seq = 0 ;
+		/** 다시 열었을 때 마지막 기록 (없으면 -1) */
+		long offset = -1 ;
+		long file_length ;
+		int data_length ;
+		final byte[] state = new byte[_BLOCK_SIZE] ;
+		byte[] data ;
+
+		private _Journal(FileChannel channel, int region_size) {
+			this.channel = channel ;
+			this.region_size = region_size ;
+		}
+
+		/**
+		 * Journal 만들기 (Header와 Directory 항목까지 force한다.)
+		 */
+		static _Journal create(Path path, SEED seed, SEED.Action action, int region_size) throws IOException {
+			FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING) ;
+			try {
+				ByteBuffer header = _Header(seed, action, region_size) ;
+				while (header.hasRemaining())	channel.write(header, header.position()) ;
+				channel.force(true) ;
+				_ForceDirectory(path.toAbsolutePath().getParent()) ;
+			} catch(IOException | RuntimeException e) {
+				channel.close() ;
+				throw e ;
+			}
+			return new _Journal(channel, region_size) ;
+		}
+
+		private static ByteBuffer _Header(SEED seed, SEED.Action action, int region_size) {
+			ByteBuffer header = ByteBuffer.allocate(_HEADER_SIZE) ;
+			header.putLong(_MAGIC).putInt(action.action()).putInt(region_size) ;
+			header.putInt(seed.mode.mode()).putInt(seed.bit.bit()).putInt(seed.padding.padding()) ;
+			header.put(seed._checkValue()).flip() ;
+			return header ;
+		}
+
+		/**
+		 * Directory force (새로 만든 Journal 파일 항목이 Disk에 남도록)
+		 * Directory를 열 수 없는 OS(Windows 등)에서는 하지 않는다.
+		 */
+		private static void _ForceDirectory(Path dir) {
+			if (dir == null)	return ;
+			try (FileChannel channel = FileChannel.open(dir, StandardOpenOption.READ)) {
+				channel.force(true) ;
+			} catch(IOException e) {
+				// 지원하지 않음
+			}
+		}
+
+		/**
+		 * @return 있던 Journal (없으면 null, 다른 작업이나 다른 키, Mode, iv / ctr의 Journal이면 IllegalStateException)
+		 */
+		static _Journal open(Path path, SEED seed, SEED.Action action) throws IOException {
+			if (!Files.exists(path))	return null ;
+
+			FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE) ;
+			ByteBuffer header = ByteBuffer.allocate(_HEADER_SIZE) ;
+			channel.read(header, 0) ;
+			header.flip() ;
+			if (header.remaining() < _HEADER_SIZE || header.getLong() != _MAGIC) {
+				channel.close() ;
+				return new _Journal(null, 0) ;	// Header를 쓰는 도중 멈춤
+			}
+			if (header.getInt() != action.action()) {
+				channel.close() ;
+				throw new IllegalStateException("journal " + path + " is not for " + action) ;
+			}
+			int region_size = header.getInt() ;
+			header.rewind() ;
+			if (!header.equals(_Header(seed, action, region_size))) {
+				channel.close() ;
+				throw new IllegalStateException("journal " + path + " was written with a different key, mode or iv/ctr") ;
+			}
+
+			_Journal journal = new _Journal(channel, region_size) ;
+			for(int slot = 0; slot < 2; ++slot)
+				journal._load(slot) ;
+			return journal ;
+		}
+
+		/**
+		 * 덮어쓸 영역 기록하기 (암호화는 결과, 복호화는 원본. force까지 한다.)
+		 */
+		void write(long offset, long file_length, byte[] state, byte[] data, int data_length) throws IOException {
+			++seq ;
+			ByteBuffer slot = ByteBuffer.allocate(_SLOT_HEADER_SIZE + data_length) ;
+			slot.putLong(seq).putLong(offset).putLong(file_length).putInt(data_length).put(state, 0, _BLOCK_SIZE) ;
+			slot.putLong(_Crc(slot.array(), _SLOT_HEADER_SIZE - 8, data, data_length)) ;
+			slot.put(data, 0, data_length).flip() ;
+
+			long position = _HEADER_SIZE + (seq % 2) * (long)(_SLOT_HEADER_SIZE + region_size) ;
+			while (slot.hasRemaining())	channel.write(slot, position + slot.position()) ;
+			channel.force(false) ;
+		}
+
+		void close() throws IOException {
+			if (channel != null)	channel.close() ;
+		}
+
+		private void _load(int slot) throws IOException {
+			long position = _HEADER_SIZE + slot * (long)(_SLOT_HEADER_SIZE + region_size) ;
+			ByteBuffer header = ByteBuffer.allocate(_SLOT_HEADER_SIZE) ;
+			while (header.hasRemaining() && channel.read(header, position + header.position()) > 0) ;
+			if (header.hasRemaining())	return ;
+			header.flip() ;
+
+			long _seq = header.getLong() ;
+			long _offset = header.getLong() ;
+			long _file_length = header.getLong() ;
+			int _data_length = header.getInt() ;
+			byte[] _state = new byte[_BLOCK_SIZE] ;
+			header.get(_state) ;
+			long crc = header.getLong() ;
+			if (_seq <= seq || _data_length < 0 || _data_length > region_size)	return ;
+
+			ByteBuffer body = ByteBuffer.allocate(_data_length) ;
+			while (body.hasRemaining() && channel.read(body, position + _SLOT_HEADER_SIZE + body.position()) > 0) ;
+			if (body.hasRemaining() || crc != _Crc(header.array(), _SLOT_HEADER_SIZE - 8, body.array(), _data_length))	return ;
+
+			seq = _seq ;
+			offset = _offset ;
+			file_length = _file_length ;
+			data_length = _data_length ;
+			System.arraycopy(_state, 0, state, 0, _BLOCK_SIZE) ;
+			data = body.array() ;
+		}
+
+		private static long _Crc(byte[] header, int header_length, byte[] data, int data_length) {
+			CRC32 crc = new CRC32() ;
+			crc.update(header, 0, header_length) ;
+			crc.update(data, 0, data_length) ;
+			return crc.getValue() ;
+		}
+	}
+
+	private static FileChannel _OpenTarget(Path target) throws IOException {
+		return FileChannel.open(target, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING) ;
+	}
+
+	private static void _CheckNotSame(Path source, Path target) throws IOException {
+		if (Files.exists(target) && Files.isSameFile(source, target))	throw new IllegalArgumentException("source and target are the same file") ;
+	}
+
+	private static void _Read(FileChannel channel, long position, byte[] data, int length) throws IOException {
+		_Read(channel, position, data, 0, length) ;
+	}
+
+	/**
+	 * position부터 length만큼 읽기 (FileChannel.read()는 length보다 적게 읽을 수 있다.)
+	 */
+	private static void _Read(FileChannel channel, long position, byte[] data, int offset, int length) throws IOException {
+		ByteBuffer buffer = ByteBuffer.wrap(data, offset, length) ;
+		while (buffer.hasRemaining()) {
+			if (channel.read(buffer, position + buffer.position() - offset) < 0)
+				throw new IOException("unexpected end of file") ;
+		}
+	}
+
+	private static void _Write(FileChannel channel, long position, byte[] data, int length) throws IOException {
+		_Write(channel, position, data, 0, length) ;
+	}
+
+	private static void _Write(FileChannel channel, long position, byte[] data, int offset, int length) throws IOException {
+		ByteBuffer buffer = ByteBuffer.wrap(data, offset, length) ;
+		while (buffer.hasRemaining())
+			channel.write(buffer, position + buffer.position() - offset) ;
+	}
+}
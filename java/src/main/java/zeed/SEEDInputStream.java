@@ -0,0 +1,154 @@
+package zeed;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 읽는 Data를 암/복호화하여 돌려주는 Filter
+ * <p>
+ * 앞 InputStream에서 Buffer(기본 64KB)만큼씩 읽어 SEED의 여러 Block 처리(엔진)로 한번에 암/복호화한다.
+ * 앞 InputStream이 적게 읽어도(Socket, Pipe 등) 끝(-1)까지 이어서 처리하고,
+ * 끝에서 마지막 Block을 처리(암호화는 Padding을 붙이고, 복호화는 Padding을 뺀다.)한다.
+ * <pre>
+ * try (InputStream is = new SEEDInputStream(socket.getInputStream(), seed, SEED.Action.DECRYPT)) {
+ *     ...
+ * }
+ * </pre>
+ * 복호화시 키가 틀리면 마지막에 ZEEDException(Error.PADDING)이 발생한다.
+ * SEED는 끝까지 읽을 때까지 다른 곳에서 쓰지 않는다.
+ */
+public final class SEEDInputStream extends FilterInputStream {
+	/** 기본 Buffer 크기 */
+	public static final int DEFAULT_BUFFER_SIZE = 64 * 1024 ;
+	private static final int _BLOCK_SIZE = 16 ;
+
+	private final SEED seed ;
+	private final byte[] buffer ;
+	/** 암/복호화 결과 [position, limit) 가 아직 읽지 않은 부분 */
+	private final byte[] out_buffer ;
+	private int position = 0 ;
+	private int limit = 0 ;
+	/** 앞 InputStream을 끝까지 읽고 finish()까지 했는가? */
+	private boolean eof = false ;
+	private boolean closed = false ;
+	private final byte[] one = new byte[1] ;
+
+	/**
+	 * @param in		암/복호화할 Data를 읽을 InputStream
+	 * @param seed		키, Mode, Padding 등이 설정된 SEED
+	 * @param action	SEED.Action.ENCRYPT 또는 SEED.Action.DECRYPT
+	 */
+	public SEEDInputStream(InputStream in, SEED seed, SEED.Action action) {
+		this(in, seed, action, DEFAULT_BUFFER_SIZE) ;
+	}
+
+	/**
+	 * @param in			암/복호화할 Data를 읽을 InputStream
+	 * @param seed			키, Mode, Padding 등이 설정된 SEED
+	 * @param action		SEED.Action.ENCRYPT 또는 SEED.Action.DECRYPT
+	 * @param bufferSize	Buffer 크기 (16 이상)
+	 */
+	public SEEDInputStream(InputStream in, SEED seed, SEED.Action action, int bufferSize) {
+		super(in) ;
+		if (bufferSize < _BLOCK_SIZE)	throw new IllegalArgumentException("bufferSize < " + _BLOCK_SIZE) ;
+		if (seed.roundKey.length == 0)	throw new ZEEDException(SEED.Error.KEY_LENGTH, "userKey length is zero") ;
+
+		this.seed = seed ;
+		this.buffer = new byte[bufferSize] ;
+		this.out_buffer = new byte[bufferSize + _BLOCK_SIZE] ;
+		seed.init(action) ;
+	}
+
+	@Override
+	public int read() throws IOException {
+		return (read(one, 0, 1) < 0) ? -1 : (one[0] & 0xFF) ;
+	}
+
+	@Override
+	public int read(byte[] b, int off, int len) throws IOException {
+		_ensureOpen() ;
+		if ((off | len | (b.length - (off + len))) < 0)	throw new IndexOutOfBoundsException() ;
+		if (len == 0)	return 0 ;
+
+		while (position == limit) {
+			if (eof)	return -1 ;
+			_fill() ;
+		}
+
+		int n = Math.min(len, limit - position) ;
+		System.arraycopy(out_buffer, position, b, off, n) ;
+		position += n ;
+		return n ;
+	}
+
+	/**
+	 * 암/복호화한 결과를 건너뛰기 (out_buffer 안에서 position만 옮기고, 모자라면 _fill()로 다시 채운다.)
+	 */
+	@Override
+	public long skip(long n) throws IOException {
+		_ensureOpen() ;
+		if (n <= 0)	return 0 ;
+
+		long ret = 0 ;
+		while (ret < n) {
+			if (position == limit) {
+				if (eof)	break ;
+				_fill() ;
+				continue ;
+			}
+			int skip_byte_count = (int)Math.min(n - ret, limit - position) ;
+			position += skip_byte_count ;
+			ret += skip_byte_count ;
+		}
+		return ret ;
+	}
+
+	/**
+	 * @return 이미 암/복호화되어 바로 읽을 수 있는 길이
+	 */
+	@Override
+	public int available() throws IOException {
+		_ensureOpen() ;
+		return limit - position ;
+	}
+
+	@Override
+	public boolean markSupported() {
+		return false ;
+	}
+
+	@Override
+	public synchronized void mark(int readlimit) {
+	}
+
+	@Override
+	public synchronized void reset() throws IOException {
+		throw new IOException("mark/reset not supported") ;
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (closed)	return ;
+		closed = true ;
+		in.close() ;
+	}
+
+	/**
+	 * 앞 InputStream에서 읽은 만큼 암/복호화하기 (끝이면 finish())
+	 */
+	private void _fill() throws IOException {
+		int read_byte_count = in.read(buffer, 0, buffer.length) ;
+		position = 0 ;
+		if (read_byte_count < 0) {
+			limit = seed.finish(out_buffer, 0) ;
+			eof = true ;
+		}
+		else
+			limit = seed.process(buffer, 0, read_byte_count, out_buffer, 0) ;
+	}
+
+	private void _ensureOpen() throws IOException {
+		if (closed)	throw new IOException("stream closed") ;
+	}
+}
@@ -0,0 +1,67 @@
+package zeed;
+
+/**
+ * 확장된 SEED 키 (RoundKey + Bit)
+ * <p>
+ * 만든 후에는 바뀌지 않으므로 여러 Thread가 Lock 없이 공유할 수 있다.
+ * 키 확장(RoundKey 생성)은 한 번만 하고, 요청마다 <code>new SEED(mode, padding, key)</code>로 가볍게 SEED를 만들어 쓴다.
+ * <pre>
+ * SEEDKey key = SEEDKey.of(SEED.Bit.SEED128, "1234") ;
+ * ...
+ * SEED seed = new SEED(SEED.Mode.CBC, SEED.Padding.PKCS7, key) ;	// Thread(요청)마다
+ * byte[] cipher = seed.encrypt(plain) ;
+ * </pre>
+ */
+public final class SEEDKey {
+	private final SEED.Bit bit ;
+	private final int[] roundKey ;
+
+	private SEEDKey(SEED.Bit bit, int[] roundKey) {
+		this.bit = bit ;
+		this.roundKey = roundKey ;
+	}
+
+	/**
+	 * 사용자 비밀번호로 키 만들기
+	 * @param bit		Bit.SEED128, Bit.SEED256 중 택일
+	 * @param userKey	SEED128이면 16 Byte를 SEED256이면 32 Byte를 넣는다.
+	 */
+	public static SEEDKey of(SEED.Bit bit, byte[] userKey) {
+		_Check(bit, userKey) ;
+		return new SEEDKey(bit, SEED._getRoundKey(bit, userKey)) ;
+	}
+
+	/**
+	 * 사용자 비밀번호로 키 만들기(내부적으로 All Zero Padding을 한다.)
+	 * @param bit		Bit.SEED128, Bit.SEED256 중 택일
+	 * @param userKey	비밀번호를 1 ~ 16자리(SEED256이면 32자리까지) ASCII만 넣는다.
+	 */
+	public static SEEDKey of(SEED.Bit bit, String userKey) {
+		_Check(bit, userKey) ;
+		return of(bit, SEED._GetKeyBytes(userKey, bit.bit()/8)) ;
+	}
+
+	/**
+	 * 사용자 비밀번호 길이 확인 (SEEDKeyCache는 찾기 전에 확인한다.)
+	 */
+	static void _Check(SEED.Bit bit, byte[] userKey) {
+		if (userKey.length == 0)			throw new ZEEDException(SEED.Error.KEY_LENGTH, "userKey length is zero") ;
+		if (userKey.length != bit.bit()/8)	throw new ZEEDException(SEED.Error.KEY_LENGTH, "userKey length != " + (bit.bit()/8)) ;
+	}
+
+	static void _Check(SEED.Bit bit, String userKey) {
+		if (userKey.length() == 0)			throw new ZEEDException(SEED.Error.KEY_LENGTH, "userKey length is zero") ;
+		if (userKey.length() > bit.bit()/8)	throw new ZEEDException(SEED.Error.KEY_LENGTH, "userKey length > " + (bit.bit()/8)) ;
+	}
+
+	public SEED.Bit bit() {
+		return bit ;
+	}
+
+	/**
+	 * SEED 내부에서만 쓴다. (읽기 전용으로 공유하므로 바꾸면 안 된다.)
+	 */
+	int[] roundKey() {
+		return roundKey ;
+	}
+}
@@ -0,0 +1,176 @@
+package zeed;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 확장된 키(SEEDKey)의 LRU Cache
+ * <p>
+ * (Bit, 사용자 비밀번호)로 찾고, 가득 차면 가장 오래 쓰지 않은 키부터 버린다.
+ * 같은 키를 반복해서 쓰면 키 확장(RoundKey 생성)을 하지 않는다.
+ * SEED.setUserKey()와 encrypt(..., userKey) / decrypt(..., userKey)는 shared()를 쓴다.
+ * <p>
+ * 여러 Thread에서 동시에 써도 된다.
+ * 찾을 때는 Lock 없이(ConcurrentHashMap) 마지막 사용 순번만 적고, 가득 차면 넣는 쪽에서 순번이 가장 작은 키를 찾아 버린다.
+ * (동시에 넣으면 잠시 capacity를 넘거나 조금 더 버릴 수 있는 근사 LRU이다.)
+ */
+public final class SEEDKeyCache {
+	/** shared() 기본 크기 (-Dzeed.keycache.size=N 으로 바꿀 수 있다.) */
+	private static final int _DEFAULT_CAPACITY = 64 ;
+	private static final SEEDKeyCache _SHARED = new SEEDKeyCache(Integer.getInteger("zeed.keycache.size", _DEFAULT_CAPACITY)) ;
+
+	private final int capacity ;
+	private final ConcurrentHashMap<_Key, _Entry> keys = new ConcurrentHashMap<_Key, _Entry>() ;
+	/** 사용 순번 */
+	private final AtomicLong clock = new AtomicLong() ;
+	private final AtomicLong hit = new AtomicLong() ;
+	private final AtomicLong miss = new AtomicLong() ;
+	private final AtomicLong eviction = new AtomicLong() ;
+
+	/**
+	 * @param capacity	최대 키 수 (0이면 Cache하지 않는다.)
+	 */
+	public SEEDKeyCache(int capacity) {
+		if (capacity < 0)	throw new IllegalArgumentException("capacity < 0") ;
+
+		this.capacity = capacity ;
+	}
+
+	/**
+	 * @return SEED에서 같이 쓰는 Cache
+	 */
+	public static SEEDKeyCache shared() {
+		return _SHARED ;
+	}
+
+	/**
+	 * 키 가져오기 (없으면 만들어서 넣는다.)
+	 * @param bit		Bit.SEED128, Bit.SEED256 중 택일
+	 * @param userKey	SEED128이면 16 Byte를 SEED256이면 32 Byte를 넣는다.
+	 */
+	public SEEDKey get(SEED.Bit bit, byte[] userKey) {
+		SEEDKey._Check(bit, userKey) ;
+		SEEDKey key = _get(new _Key(bit, ByteBuffer.wrap(userKey))) ;
+		if (key != null)	return key ;
+
+		return _put(new _Key(bit, ByteBuffer.wrap(userKey.clone())), SEEDKey.of(bit, userKey)) ;
+	}
+
+	/**
+	 * 키 가져오기 (없으면 만들어서 넣는다.)
+	 * @param bit		Bit.SEED128, Bit.SEED256 중 택일
+	 * @param userKey	비밀번호를 1 ~ 16자리(SEED256이면 32자리까지) ASCII만 넣는다.
+	 */
+	public SEEDKey get(SEED.Bit bit, String userKey) {
+		SEEDKey._Check(bit, userKey) ;
+		_Key id = new _Key(bit, userKey) ;
+		SEEDKey key = _get(id) ;
+		if (key != null)	return key ;
+
+		return _put(id, SEEDKey.of(bit, userKey)) ;
+	}
+
+	private SEEDKey _get(_Key id) {
+		_Entry entry = keys.get(id) ;
+		if (entry == null) {
+			miss.incrementAndGet() ;
+			return null ;
+		}
+		hit.incrementAndGet() ;
+		entry.used = clock.incrementAndGet() ;
+		return entry.key ;
+	}
+
+	/**
+	 * @return 넣은 키 (다른 Thread가 먼저 넣었으면 그 키)
+	 */
+	private SEEDKey _put(_Key id, SEEDKey key) {
+		if (capacity == 0)	return key ;
+
+		_Entry entry = new _Entry(key, clock.incrementAndGet()) ;
+		_Entry previous = keys.putIfAbsent(id, entry) ;
+		if (previous != null)	return previous.key ;
+
+		while (keys.size() > capacity)
+			_evict() ;
+		return key ;
+	}
+
+	/**
+	 * 가장 오래 쓰지 않은 키 하나 버리기
+	 */
+	private void _evict() {
+		Map.Entry<_Key, _Entry> eldest = null ;
+		for(Map.Entry<_Key, _Entry> entry : keys.entrySet()) {
+			if (eldest == null || entry.getValue().used < eldest.getValue().used)	eldest = entry ;
+		}
+		if (eldest != null && keys.remove(eldest.getKey(), eldest.getValue()))	eviction.incrementAndGet() ;
+	}
+
+	public int capacity() {
+		return capacity ;
+	}
+
+	public int size() {
+		return keys.size() ;
+	}
+
+	public long hitCount() {
+		return hit.get() ;
+	}
+
+	public long missCount() {
+		return miss.get() ;
+	}
+
+	public long evictionCount() {
+		return eviction.get() ;
+	}
+
+	/**
+	 * 키를 모두 버린다. (통계는 유지)
+	 */
+	public void clear() {
+		keys.clear() ;
+	}
+
+	/**
+	 * Cache에 든 키와 마지막 사용 순번
+	 */
+	private static final class _Entry {
+		private final SEEDKey key ;
+		private volatile long used ;
+
+		_Entry(SEEDKey key, long used) {
+			this.key = key ;
+			this.used = used ;
+		}
+	}
+
+	/**
+	 * Cache 검색용 키 (Bit + String 또는 ByteBuffer)
+	 */
+	private static final class _Key {
+		private final SEED.Bit bit ;
+		private final Object userKey ;
+
+		_Key(SEED.Bit bit, Object userKey) {
+			this.bit = bit ;
+			this.userKey = userKey ;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (!(o instanceof _Key))	return false ;
+			_Key other = (_Key)o ;
+			return bit == other.bit && userKey.equals(other.userKey) ;
+		}
+
+		@Override
+		public int hashCode() {
+			return bit.hashCode() * 31 + userKey.hashCode() ;
+		}
+	}
+}
@@ -0,0 +1,189 @@
+package zeed;
+
+import java.nio.charset.Charset;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 키 ID별 SEEDKey 모음 (키 교체용)
+ * <p>
+ * 암호화할 때는 현재 키(setCurrent())로 암호화하고, 암호문 앞에 키 ID 2 Byte(Big Endian)를 붙인다.
+ * 복호화할 때는 앞 2 Byte의 키 ID로 키를 바로 찾으므로, 여러 세대의 키로 암호화된 Data를 키를 추측하지 않고 복호화할 수 있다.
+ * <pre>
+ * [ 키 ID (2 Byte) ][ 암호문 ]
+ * </pre>
+ * 여러 Thread에서 동시에 써도 된다. (호출마다 SEED를 새로 만든다.)
+ */
+public final class SEEDKeyring {
+	/** 키 ID Header 길이 */
+	public static final int HEADER_SIZE = 2 ;
+	/** 키 ID 최대값 */
+	public static final int MAX_KEY_ID = 0xFFFF ;
+
+	private final SEED.Mode mode ;
+	private final SEED.Padding padding ;
+	private final ConcurrentHashMap<Integer, SEEDKey> keys = new ConcurrentHashMap<Integer, SEEDKey>() ;
+	private volatile int current = -1 ;
+	private volatile int _option = SEED.Option.NONE.option() ;
+	private volatile byte[] iv = null ;
+	private volatile byte[] ctr = null ;
+
+	/**
+	 * 암호화 방식 정하기
+	 * @param mode		Mod.ECB, Mode.CBC, Mode.CTR 중 택일
+	 * @param padding	Padding.BIT, Padding.X923, Padding.PKCS7 중 택일
+	 */
+	public SEEDKeyring(SEED.Mode mode, SEED.Padding padding) {
+		this.mode = mode ;
+		this.padding = padding ;
+	}
+
+	/**
+	 * 키 넣기 (같은 ID가 있으면 바꾼다.)
+	 * @param id	0 ~ MAX_KEY_ID
+	 * @param key	확장된 키
+	 */
+	public void put(int id, SEEDKey key) {
+		_CheckId(id) ;
+		if (key == null)	throw new NullPointerException("key") ;
+		keys.put(id, key) ;
+	}
+
+	/**
+	 * 키 빼기 (현재 키는 뺄 수 없다.)
+	 */
+	public synchronized SEEDKey remove(int id) {
+		if (id == current)	throw new IllegalStateException("current key id " + id) ;
+		return keys.remove(id) ;
+	}
+
+	/**
+	 * @return id의 키 (없으면 null)
+	 */
+	public SEEDKey get(int id) {
+		return keys.get(id) ;
+	}
+
+	/**
+	 * 암호화에 쓸 키 정하기
+	 * @param id	put()으로 넣은 키 ID
+	 */
+	public synchronized void setCurrent(int id) {
+		if (!keys.containsKey(id))	throw new ZEEDException(SEED.Error.UNKNOWN_KEY_ID, "unknown key id " + id) ;
+		this.current = id ;
+	}
+
+	/**
+	 * @return 암호화에 쓰는 키 ID (없으면 -1)
+	 */
+	public int current() {
+		return current ;
+	}
+
+	/**
+	 * Option을 넣기. (SEED.option()과 같다.)
+	 */
+	public synchronized void option(SEED.Option option) {
+		switch(option) {
+		case NONE	:	this._option = option.option() ;	break ;
+		default		:	this._option |= option.option() ;	break ;
+		}
+	}
+
+	/**
+	 * SEED.CBC_MODE일 때 Initial Vector 설정하기
+	 * @param iv	Initial Vector 16 Byte
+	 */
+	public void setInitialVector(byte[] iv) {
+		if (iv.length != 16)	throw new ZEEDException(SEED.Error.IV_LENGTH, "InitialVector length != 16") ;
+		this.iv = iv.clone() ;
+	}
+
+	/**
+	 * SEED.CTR_MODE일 때 counter 설정하기
+	 * @param ctr	counter 16 Byte
+	 */
+	public void setCounter(byte[] ctr) {
+		if (ctr.length != 16)	throw new ZEEDException(SEED.Error.CTR_LENGTH, "Counter length != 16") ;
+		this.ctr = ctr.clone() ;
+	}
+
+	/**
+	 * 암호문 앞의 키 ID 읽기
+	 * @return 키 ID
+	 */
+	public static int keyId(byte[] cipher) {
+		if (cipher.length < HEADER_SIZE)	throw new ZEEDException(SEED.Error.CIPHER_LENGTH, "cipher length < " + HEADER_SIZE) ;
+		return ((cipher[0] & 0xFF) << 8) | (cipher[1] & 0xFF) ;
+	}
+
+	/**
+	 * 현재 키로 암호화하기
+	 * @param plain	암호화할 대상(평문)
+	 * @return 키 ID Header + 암호문 (plain이 null이면 null)
+	 */
+	public byte[] encrypt(byte[] plain) {
+		if (plain == null)	return null ;
+
+		int id = current ;
+		if (id < 0)	throw new ZEEDException(SEED.Error.UNKNOWN_KEY_ID, "current key id is not set") ;
+		SEEDKey key = keys.get(id) ;	// 그 사이 setCurrent(), remove()로 빠졌을 수 있다.
+		if (key == null)	throw new ZEEDException(SEED.Error.UNKNOWN_KEY_ID, "unknown key id " + id) ;
+
+		byte[] cipher = _newCipher(key).encrypt(plain) ;
+		byte[] ret = new byte[HEADER_SIZE + cipher.length] ;
+		ret[0] = (byte)(id >>> 8) ;
+		ret[1] = (byte)id ;
+		System.arraycopy(cipher, 0, ret, HEADER_SIZE, cipher.length) ;
+		return ret ;
+	}
+
+	/**
+	 * 키 ID Header로 키를 찾아 복호화하기
+	 * @param cipher	키 ID Header + 암호문
+	 * @return 복호화된 Data(즉, 원문) (cipher가 null이면 null)
+	 */
+	public byte[] decrypt(byte[] cipher) {
+		if (cipher == null)	return null ;
+
+		int id = keyId(cipher) ;
+		SEEDKey key = keys.get(id) ;
+		if (key == null)	throw new ZEEDException(SEED.Error.UNKNOWN_KEY_ID, "unknown key id " + id) ;
+
+		return _newCipher(key).decrypt(cipher, HEADER_SIZE, cipher.length - HEADER_SIZE) ;
+	}
+
+	/**
+	 * 현재 키로 암호화하기
+	 * @param plain			암호화할 대상(평문)
+	 * @param charset		암호화는 Binary 기준이므로 plain의 Charset를 설정한다.
+	 * @param encodingTable	암호화된 결과도 Binary이므로 String만들 encoding하는 방식 (null이면 Base62)
+	 * @return 암호화된 결과(키 ID Header + 암호문)
+	 */
+	public String encrypt(String plain, Charset charset, SEED.EncodingTable encodingTable) {
+		return SEED.Encode(encrypt(plain.getBytes(charset == null ? Charset.defaultCharset() : charset)), encodingTable) ;
+	}
+
+	/**
+	 * 키 ID Header로 키를 찾아 복호화하기
+	 * @param cipher		복호화할 암호문 (키 ID Header + 암호문)
+	 * @param charset		암호화시 한글 Charset
+	 * @param encodingTable	암호화시 Binary를 String화 Encoding Table (null이면 Base62)
+	 * @return 복호화된 Data(즉, 원문)
+	 */
+	public String decrypt(String cipher, Charset charset, SEED.EncodingTable encodingTable) {
+		return new String(decrypt(SEED.Decode(cipher, encodingTable)), charset == null ? Charset.defaultCharset() : charset) ;
+	}
+
+	private SEED _newCipher(SEEDKey key) {
+		SEED seed = new SEED(mode, padding, key) ;
+		seed._option = _option ;
+		byte[] _iv = iv, _ctr = ctr ;
+		if (_iv != null)	seed.setInitialVector(_iv) ;
+		if (_ctr != null)	seed.setCounter(_ctr) ;
+		return seed ;
+	}
+
+	private static void _CheckId(int id) {
+		if (id < 0 || id > MAX_KEY_ID)	throw new IllegalArgumentException("key id must be 0 ~ " + MAX_KEY_ID) ;
+	}
+}
@@ -0,0 +1,128 @@
+package zeed;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * 쓰는 Data를 암/복호화하여 다음 OutputStream에 쓰는 Filter
+ * <p>
+ * 쓴 Data는 Buffer(기본 64KB)에 모았다가 SEED의 여러 Block 처리(엔진)로 한번에 암/복호화한다.
+ * Buffer보다 크게 쓰면 Buffer를 거치지 않고 바로 처리한다.
+ * close()할 때 마지막 Block을 처리(암호화는 Padding을 붙이고, 복호화는 Padding을 뺀다.)하므로 반드시 close()한다.
+ * <pre>
+ * try (OutputStream os = new SEEDOutputStream(new FileOutputStream(file), seed, SEED.Action.ENCRYPT)) {
+ *     os.write(plain) ;
+ * }
+ * </pre>
+ * SEED는 close()할 때까지 다른 곳에서 쓰지 않는다.
+ */
+public final class SEEDOutputStream extends FilterOutputStream {
+	/** 기본 Buffer 크기 */
+	public static final int DEFAULT_BUFFER_SIZE = 64 * 1024 ;
+	private static final int _BLOCK_SIZE = 16 ;
+
+	private final SEED seed ;
+	private final byte[] buffer ;
+	/** 암/복호화 결과 (process()는 남아 있던 Block만큼 더 나올 수 있다.) */
+	private final byte[] out_buffer ;
+	private int size = 0 ;
+	private boolean closed = false ;
+
+	/**
+	 * @param out		암/복호화 결과를 쓸 OutputStream
+	 * @param seed		키, Mode, Padding 등이 설정된 SEED
+	 * @param action	SEED.Action.ENCRYPT 또는 SEED.Action.DECRYPT
+	 */
+	public SEEDOutputStream(OutputStream out, SEED seed, SEED.Action action) {
+		this(out, seed, action, DEFAULT_BUFFER_SIZE) ;
+	}
+
+	/**
+	 * @param out			암/복호화 결과를 쓸 OutputStream
+	 * @param seed			키, Mode, Padding 등이 설정된 SEED
+	 * @param action		SEED.Action.ENCRYPT 또는 SEED.Action.DECRYPT
+	 * @param bufferSize	Buffer 크기 (16 이상)
+	 */
+	public SEEDOutputStream(OutputStream out, SEED seed, SEED.Action action, int bufferSize) {
+		super(out) ;
+		if (bufferSize < _BLOCK_SIZE)	throw new IllegalArgumentException("bufferSize < " + _BLOCK_SIZE) ;
+		if (seed.roundKey.length == 0)	throw new ZEEDException(SEED.Error.KEY_LENGTH, "userKey length is zero") ;
+
+		this.seed = seed ;
+		this.buffer = new byte[bufferSize] ;
+		this.out_buffer = new byte[bufferSize + _BLOCK_SIZE] ;
+		seed.init(action) ;
+	}
+
+	@Override
+	public void write(int b) throws IOException {
+		_ensureOpen() ;
+		buffer[size++] = (byte)b ;
+		if (size == buffer.length)	_flushBuffer() ;
+	}
+
+	@Override
+	public void write(byte[] b, int off, int len) throws IOException {
+		_ensureOpen() ;
+		if ((off | len | (b.length - (off + len))) < 0)	throw new IndexOutOfBoundsException() ;
+
+		while (len > 0) {
+			if (size == 0 && len >= buffer.length) {	// Buffer를 거치지 않고 바로
+				_process(b, off, buffer.length) ;
+				off += buffer.length ;
+				len -= buffer.length ;
+				continue ;
+			}
+
+			int n = Math.min(len, buffer.length - size) ;
+			System.arraycopy(b, off, buffer, size, n) ;
+			size += n ;
+			off += n ;
+			len -= n ;
+			if (size == buffer.length)	_flushBuffer() ;
+		}
+	}
+
+	/**
+	 * 모아둔 Data를 암/복호화하여 쓴다. (Block이 덜 찬 부분과 복호화시 마지막 Block은 close()까지 남는다.)
+	 */
+	@Override
+	public void flush() throws IOException {
+		_ensureOpen() ;
+		_flushBuffer() ;
+		out.flush() ;
+	}
+
+	/**
+	 * 마지막 Block을 처리하고 닫는다.
+	 * 복호화시 키가 틀리면 ZEEDException(Error.PADDING)이 발생한다. (다음 OutputStream은 닫힌다.)
+	 */
+	@Override
+	public void close() throws IOException {
+		if (closed)	return ;
+		closed = true ;
+
+		try {
+			_flushBuffer() ;
+			out.write(out_buffer, 0, seed.finish(out_buffer, 0)) ;
+			out.flush() ;
+		} finally {
+			out.close() ;
+		}
+	}
+
+	private void _flushBuffer() throws IOException {
+		if (size == 0)	return ;
+		_process(buffer, 0, size) ;
+		size = 0 ;
+	}
+
+	private void _process(byte[] b, int off, int len) throws IOException {
+		out.write(out_buffer, 0, seed.process(b, off, len, out_buffer, 0)) ;
+	}
+
+	private void _ensureOpen() throws IOException {
+		if (closed)	throw new IOException("stream closed") ;
+	}
+}
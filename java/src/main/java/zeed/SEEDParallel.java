@@ -0,0 +1,87 @@
+package zeed;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * SEED 병렬 처리
+ * <p>
+ * Data를 Segment로 나누고, Segment마다 SEED._fork()한 복사본으로 동시에 처리한다.
+ * 처리 후 원래 SEED의 seasoning은 순차 처리한 것과 같은 위치로 옮겨진다.
+ */
+final class SEEDParallel {
+	private static final int _BLOCK_SIZE = 16 ;
+	/** Segment 최소 크기 (16의 배수) */
+	private static final int _MIN_SEGMENT_SIZE = 64 * 1024 ;
+
+	private SEEDParallel() {
+	}
+
+	static void encrypt(SEED seed, ExecutorService executor, byte[] plain, int p_offset, byte[] cipher, int c_offset, int length) {
+		_run(seed, executor, true, plain, p_offset, cipher, c_offset, length) ;
+	}
+
+	static void decrypt(SEED seed, ExecutorService executor, byte[] cipher, int c_offset, byte[] plain, int p_offset, int length) {
+		_run(seed, executor, false, cipher, c_offset, plain, p_offset, length) ;
+	}
+
+	private static void _run(SEED seed, ExecutorService executor, boolean isEncrypt, byte[] in, int i_offset, byte[] out, int o_offset, int length) {
+		int segment_size = _SegmentSize(length, parallelism(executor)) ;
+
+		List<Callable<Void>> tasks = new ArrayList<Callable<Void>>() ;
+		for(int offset = 0; offset < length; offset += segment_size) {
+			final SEED worker = seed._fork(in, i_offset, offset) ;
+			final int segment_offset = offset ;
+			final int segment_length = Math.min(segment_size, length - offset) ;
+			tasks.add(() -> {
+				if (isEncrypt)	worker._bulkEncrypt(in, i_offset + segment_offset, out, o_offset + segment_offset, segment_length) ;
+				else			worker._bulkDecrypt(in, i_offset + segment_offset, out, o_offset + segment_offset, segment_length) ;
+				return null ;
+			}) ;
+		}
+		seed._advance(in, i_offset, length) ;
+
+		invokeAll(executor, tasks) ;
+	}
+
+	/**
+	 * 동시에 처리할 Thread 수 (1 이상)
+	 * ThreadPoolExecutor는 newCachedThreadPool()처럼 최대 Thread 수가 Integer.MAX_VALUE일 수 있으므로 CPU 수 이하로 제한한다.
+	 */
+	static int parallelism(ExecutorService executor) {
+		int processors = Runtime.getRuntime().availableProcessors() ;
+		if (executor instanceof ForkJoinPool)		return Math.max(((ForkJoinPool)executor).getParallelism(), 1) ;
+		if (executor instanceof ThreadPoolExecutor)	return Math.max(Math.min(((ThreadPoolExecutor)executor).getMaximumPoolSize(), processors), 1) ;
+		return processors ;
+	}
+
+	/**
+	 * Thread당 몇 개의 Segment가 돌아가도록 나눈다. (16의 배수, 최소 _MIN_SEGMENT_SIZE)
+	 */
+	private static int _SegmentSize(int length, int parallelism) {
+		long size = (long)length / (Math.max(parallelism, 1) * 4L) ;
+		size = (size + _BLOCK_SIZE - 1) / _BLOCK_SIZE * _BLOCK_SIZE ;
+		return (int)Math.max(size, _MIN_SEGMENT_SIZE) ;
+	}
+
+	static void invokeAll(ExecutorService executor, List<Callable<Void>> tasks) {
+		try {
+			for(Future<Void> future : executor.invokeAll(tasks))
+				future.get() ;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt() ;
+			throw new ZEEDException(SEED.Error.UNKNOWN, "interrupted") ;
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause() ;
+			if (cause instanceof RuntimeException)	throw (RuntimeException)cause ;
+			if (cause instanceof Error)				throw (Error)cause ;
+			throw new ZEEDException(SEED.Error.UNKNOWN, String.valueOf(cause)) ;
+		}
+	}
+}
@@ -0,0 +1,116 @@
+package zeed;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * 앞 Channel에서 읽은 Data를 암/복호화하여 돌려주는 ReadableByteChannel
+ * <p>
+ * 앞 Channel에서 Buffer(기본 64KB)만큼씩 읽어 SEED.update()로 한번에 암/복호화하고, Block이 덜 찬 부분은 다음 읽기로 넘긴다.
+ * 앞 Channel이 끝(-1)이면 마지막 Block을 처리(암호화는 Padding을 붙이고, 복호화는 Padding을 뺀다.)한다.
+ * 앞 Channel이 Non-Blocking이어서 읽은 것이 없으면 0을 돌려준다.
+ * <pre>
+ * try (SEEDReadableChannel channel = new SEEDReadableChannel(socketChannel, seed, SEED.Action.DECRYPT)) {
+ *     while (channel.read(buffer) >= 0) { ... }
+ * }
+ * </pre>
+ * 복호화시 키가 틀리면 마지막에 ZEEDException(Error.PADDING)이 발생한다.
+ * SEED는 끝까지 읽을 때까지 다른 곳에서 쓰지 않는다.
+ */
+public final class SEEDReadableChannel implements ReadableByteChannel {
+	/** 기본 Buffer 크기 */
+	public static final int DEFAULT_BUFFER_SIZE = 64 * 1024 ;
+	private static final int _BLOCK_SIZE = 16 ;
+	private static final ByteBuffer _EMPTY = ByteBuffer.allocate(0) ;
+
+	private final ReadableByteChannel channel ;
+	private final SEED seed ;
+	private final ByteBuffer in ;
+	/** 암/복호화 결과 중 아직 읽지 않은 부분 (읽기 상태로 둔다.) */
+	private final ByteBuffer out ;
+	/** 앞 Channel을 끝까지 읽고 doFinal()까지 했는가? */
+	private boolean eof = false ;
+	private boolean open = true ;
+
+	/**
+	 * @param channel	암/복호화할 Data를 읽을 Channel
+	 * @param seed		키, Mode, Padding 등이 설정된 SEED
+	 * @param action	SEED.Action.ENCRYPT 또는 SEED.Action.DECRYPT
+	 */
+	public SEEDReadableChannel(ReadableByteChannel channel, SEED seed, SEED.Action action) {
+		this(channel, seed, action, DEFAULT_BUFFER_SIZE) ;
+	}
+
+	/**
+	 * @param channel		암/복호화할 Data를 읽을 Channel
+	 * @param seed			키, Mode, Padding 등이 설정된 SEED
+	 * @param action		SEED.Action.ENCRYPT 또는 SEED.Action.DECRYPT
+	 * @param bufferSize	Buffer 크기 (16 이상)
+	 */
+	public SEEDReadableChannel(ReadableByteChannel channel, SEED seed, SEED.Action action, int bufferSize) {
+		if (bufferSize < _BLOCK_SIZE)	throw new IllegalArgumentException("bufferSize < " + _BLOCK_SIZE) ;
+		if (seed.roundKey.length == 0)	throw new ZEEDException(SEED.Error.KEY_LENGTH, "userKey length is zero") ;
+
+		this.channel = channel ;
+		this.seed = seed ;
+		this.in = ByteBuffer.allocate(bufferSize) ;
+		this.out = ByteBuffer.allocate(bufferSize + _BLOCK_SIZE) ;
+		this.out.flip() ;
+		seed.init(action) ;
+	}
+
+	/**
+	 * @return dst에 쓴 길이 (끝이면 -1, 앞 Channel이 Non-Blocking이어서 읽은 것이 없으면 0)
+	 */
+	@Override
+	public int read(ByteBuffer dst) throws IOException {
+		if (!open)	throw new ClosedChannelException() ;
+		if (!dst.hasRemaining())	return 0 ;
+
+		while (!out.hasRemaining()) {
+			if (eof)			return -1 ;
+			if (_fill() == 0)	return 0 ;
+		}
+
+		int n = Math.min(dst.remaining(), out.remaining()) ;
+		int limit = out.limit() ;
+		out.limit(out.position() + n) ;
+		dst.put(out) ;
+		out.limit(limit) ;
+		return n ;
+	}
+
+	@Override
+	public boolean isOpen() {
+		return open ;
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (!open)	return ;
+		open = false ;
+		channel.close() ;
+	}
+
+	/**
+	 * 앞 Channel에서 읽은 만큼 암/복호화하기 (끝이면 doFinal())
+	 * @return 앞 Channel에서 읽은 길이
+	 */
+	private int _fill() throws IOException {
+		in.clear() ;
+		int read_byte_count = channel.read(in) ;
+		in.flip() ;
+
+		out.clear() ;
+		if (read_byte_count < 0) {
+			seed.doFinal(_EMPTY, out) ;
+			eof = true ;
+		}
+		else
+			seed.update(in, out) ;
+		out.flip() ;
+		return read_byte_count ;
+	}
+}
@@ -0,0 +1,128 @@
+package zeed;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * 쓰는 Data를 암/복호화하여 다음 Channel에 쓰는 WritableByteChannel
+ * <p>
+ * ByteBuffer를 Buffer(기본 64KB) 크기씩 SEED.update()로 바로 암/복호화하고, Block이 덜 찬 부분은 다음 write()로 넘긴다.
+ * close()할 때 마지막 Block을 처리(암호화는 Padding을 붙이고, 복호화는 Padding을 뺀다.)하므로 반드시 close()한다.
+ * <pre>
+ * try (FileChannel file = FileChannel.open(path, WRITE, CREATE);
+ *      SEEDWritableChannel channel = new SEEDWritableChannel(file, seed, SEED.Action.ENCRYPT)) {
+ *     channel.write(buffers) ;
+ * }
+ * </pre>
+ * 다음 Channel이 Non-Blocking이면 다 쓸 때까지 반복하므로, Blocking Channel에 쓴다.
+ * SEED는 close()할 때까지 다른 곳에서 쓰지 않는다.
+ */
+public final class SEEDWritableChannel implements GatheringByteChannel {
+	/** 기본 Buffer 크기 */
+	public static final int DEFAULT_BUFFER_SIZE = 64 * 1024 ;
+	private static final int _BLOCK_SIZE = 16 ;
+	private static final ByteBuffer _EMPTY = ByteBuffer.allocate(0) ;
+
+	private final WritableByteChannel channel ;
+	private final SEED seed ;
+	private final int buffer_size ;
+	/** 암/복호화 결과 (process()는 남아 있던 Block만큼 더 나올 수 있다.) */
+	private final ByteBuffer out ;
+	private boolean open = true ;
+
+	/**
+	 * @param channel	암/복호화 결과를 쓸 Channel
+	 * @param seed		키, Mode, Padding 등이 설정된 SEED
+	 * @param action	SEED.Action.ENCRYPT 또는 SEED.Action.DECRYPT
+	 */
+	public SEEDWritableChannel(WritableByteChannel channel, SEED seed, SEED.Action action) {
+		this(channel, seed, action, DEFAULT_BUFFER_SIZE) ;
+	}
+
+	/**
+	 * @param channel		암/복호화 결과를 쓸 Channel
+	 * @param seed			키, Mode, Padding 등이 설정된 SEED
+	 * @param action		SEED.Action.ENCRYPT 또는 SEED.Action.DECRYPT
+	 * @param bufferSize	Buffer 크기 (16 이상)
+	 */
+	public SEEDWritableChannel(WritableByteChannel channel, SEED seed, SEED.Action action, int bufferSize) {
+		if (bufferSize < _BLOCK_SIZE)	throw new IllegalArgumentException("bufferSize < " + _BLOCK_SIZE) ;
+		if (seed.roundKey.length == 0)	throw new ZEEDException(SEED.Error.KEY_LENGTH, "userKey length is zero") ;
+
+		this.channel = channel ;
+		this.seed = seed ;
+		this.buffer_size = bufferSize ;
+		this.out = ByteBuffer.allocate(bufferSize + _BLOCK_SIZE) ;
+		seed.init(action) ;
+	}
+
+	/**
+	 * src의 남은 Data를 모두 암/복호화하여 쓴다.
+	 * @return src에서 읽은 길이 (Channel에 쓴 길이와 다를 수 있다.)
+	 */
+	@Override
+	public int write(ByteBuffer src) throws IOException {
+		if (!open)	throw new ClosedChannelException() ;
+
+		int ret = src.remaining() ;
+		int limit = src.limit() ;
+		try {
+			while (src.hasRemaining()) {
+				src.limit(src.position() + Math.min(src.remaining(), buffer_size)) ;
+				seed.update(src, out) ;
+				src.limit(limit) ;
+				_drain() ;
+			}
+		} finally {
+			src.limit(limit) ;
+		}
+		return ret ;
+	}
+
+	@Override
+	public long write(ByteBuffer[] srcs, int offset, int length) throws IOException {
+		if ((offset | length | (srcs.length - (offset + length))) < 0)	throw new IndexOutOfBoundsException() ;
+
+		long ret = 0 ;
+		for(int i = offset; i < offset + length; ++i)
+			ret += write(srcs[i]) ;
+		return ret ;
+	}
+
+	@Override
+	public long write(ByteBuffer[] srcs) throws IOException {
+		return write(srcs, 0, srcs.length) ;
+	}
+
+	@Override
+	public boolean isOpen() {
+		return open ;
+	}
+
+	/**
+	 * 마지막 Block을 처리하고 닫는다.
+	 * 복호화시 키가 틀리면 ZEEDException(Error.PADDING)이 발생한다. (다음 Channel은 닫힌다.)
+	 */
+	@Override
+	public void close() throws IOException {
+		if (!open)	return ;
+		open = false ;
+
+		try {
+			seed.doFinal(_EMPTY, out) ;
+			_drain() ;
+		} finally {
+			channel.close() ;
+		}
+	}
+
+	private void _drain() throws IOException {
+		out.flip() ;
+		while (out.hasRemaining())
+			channel.write(out) ;
+		out.clear() ;
+	}
+}
@@ -3,18 +3,35 @@ package zeed;
 @SuppressWarnings("serial")
 public class ZEEDException extends RuntimeException {	
 	private final int code;
+	private final SEED.Error error;
 
 	ZEEDException(SEED.Error err) {
 		super(err.msg()) ;
 		code = err.code();
+		error = err;
 	}
 	
 	ZEEDException(SEED.Error err, String msg) {
 		super(msg) ;
 		code = err.code() ;
+		error = err;
 	}
 
+	/**
+	 * 복호화키가 틀리거나 Data가 깨진 경우처럼 자주 발생할 수 있는 오류는 Stack Trace 없이 만든다.
+	 * @param writableStackTrace	false이면 Stack Trace를 채우지 않는다.
+	 */
+	ZEEDException(SEED.Error err, String msg, boolean writableStackTrace) {
+		super(msg, null, false, writableStackTrace) ;
+		code = err.code() ;
+		error = err;
+	}
+	
 	public int getCode(){
 		return code;
 	}
+
+	public SEED.Error getError(){
+		return error;
+	}
 }
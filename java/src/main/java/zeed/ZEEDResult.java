@@ -0,0 +1,60 @@
+package zeed;
+
+/**
+ * 건별 처리 결과 (값 또는 오류)
+ * <p>
+ * 여러 건을 한꺼번에 처리할 때, 한 건의 오류로 전체가 중단되지 않도록 건마다 결과를 담는다.
+ * @param <T>	결과 값의 Type
+ */
+public final class ZEEDResult<T> {
+	private final T value ;
+	private final SEED.Error error ;
+	private final String msg ;
+
+	private ZEEDResult(T value, SEED.Error error, String msg) {
+		this.value = value ;
+		this.error = error ;
+		this.msg = msg ;
+	}
+
+	static <T> ZEEDResult<T> ok(T value) {
+		return new ZEEDResult<T>(value, SEED.Error.OK_GOOD, SEED.Error.OK_GOOD.msg()) ;
+	}
+
+	static <T> ZEEDResult<T> fail(SEED.Error error, String msg) {
+		return new ZEEDResult<T>(null, error, msg) ;
+	}
+
+	/**
+	 * @return 정상 처리 여부
+	 */
+	public boolean isOK() {
+		return error == SEED.Error.OK_GOOD ;
+	}
+
+	/**
+	 * @return 처리 결과 (오류이면 null)
+	 */
+	public T value() {
+		return value ;
+	}
+
+	/**
+	 * @return 오류코드 (정상이면 SEED.Error.OK_GOOD)
+	 */
+	public SEED.Error error() {
+		return error ;
+	}
+
+	/**
+	 * @return 오류 Message
+	 */
+	public String msg() {
+		return msg ;
+	}
+
+	@Override
+	public String toString() {
+		return isOK() ? String.valueOf(value) : (error + ": " + msg) ;
+	}
+}
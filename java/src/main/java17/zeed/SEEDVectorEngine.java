@@ -0,0 +1,126 @@
+package zeed;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * jdk.incubator.vector를 이용한 SEED 엔진 (JDK 17 이상)
+ * <p>
+ * Multi-Release Jar의 META-INF/versions/17 에 들어간다.
+ * Block 하나를 Lane 하나에 두고, G 함수의 _SS0 ~ _SS3 조회를 Gather로 여러 Block에 대해 동시에 한다.
+ * <p>
+ * 실행시 <code>--add-modules jdk.incubator.vector</code>가 없으면 Class Loading이 실패하고, SEED는 Scalar 엔진을 쓴다.
+ * Lane이 4개 미만이면 isSupported()가 false이고, 이때도 SEED는 Scalar 엔진을 쓴다.
+ */
+final class SEEDVectorEngine implements SEEDEngine {
+	private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED ;
+	private static final int LANES = SPECIES.length() ;
+	private static final int _BLOCK_SIZE = 16 ;
+
+	/**
+	 * 작업 Buffer (엔진은 여러 Thread가 같이 쓰므로 Thread마다 둔다.)
+	 */
+	private static final class _Scratch {
+		final int[] L0 = new int[LANES], L1 = new int[LANES], R0 = new int[LANES], R1 = new int[LANES] ;
+		final int[] index = new int[LANES] ;
+	}
+	private static final ThreadLocal<_Scratch> _SCRATCH = ThreadLocal.withInitial(_Scratch::new) ;
+
+	/**
+	 * @return 이 CPU에서 Vector 엔진을 쓸 수 있는가? (Lane이 4개 이상)
+	 */
+	static boolean isSupported() {
+		return LANES >= 4 ;
+	}
+
+	@Override
+	public void encrypt(byte[] in, int i_offset, byte[] out, int o_offset, int blocks, int[] roundKey) {
+		int done = _crypt(in, i_offset, out, o_offset, blocks, roundKey, true) ;
+		SEED._SCALAR_ENGINE.encrypt(in, i_offset + done * _BLOCK_SIZE, out, o_offset + done * _BLOCK_SIZE, blocks - done, roundKey) ;
+	}
+
+	@Override
+	public void decrypt(byte[] in, int i_offset, byte[] out, int o_offset, int blocks, int[] roundKey) {
+		int done = _crypt(in, i_offset, out, o_offset, blocks, roundKey, false) ;
+		SEED._SCALAR_ENGINE.decrypt(in, i_offset + done * _BLOCK_SIZE, out, o_offset + done * _BLOCK_SIZE, blocks - done, roundKey) ;
+	}
+
+	/**
+	 * LANES개 Block씩 암/복호화
+	 * @return 처리한 Block 수 (나머지는 Scalar 엔진으로 처리한다.)
+	 */
+	private static int _crypt(byte[] in, int i_offset, byte[] out, int o_offset, int blocks, int[] K, boolean isEncrypt) {
+		if (blocks < LANES)	return 0 ;
+
+		_Scratch scratch = _SCRATCH.get() ;
+		int[] L0 = scratch.L0, L1 = scratch.L1, R0 = scratch.R0, R1 = scratch.R1 ;
+		int[] index = scratch.index ;
+
+		int b = 0 ;
+		for(; b + LANES <= blocks; b += LANES) {
+			for(int j = 0; j < LANES; ++j) {
+				int offset = i_offset + (b + j) * _BLOCK_SIZE ;
+				L0[j] = SEED._b2i(in, offset + 0) ;
+				L1[j] = SEED._b2i(in, offset + 4) ;
+				R0[j] = SEED._b2i(in, offset + 8) ;
+				R1[j] = SEED._b2i(in, offset +12) ;
+			}
+
+			IntVector vL0 = IntVector.fromArray(SPECIES, L0, 0) ;
+			IntVector vL1 = IntVector.fromArray(SPECIES, L1, 0) ;
+			IntVector vR0 = IntVector.fromArray(SPECIES, R0, 0) ;
+			IntVector vR1 = IntVector.fromArray(SPECIES, R1, 0) ;
+
+			for(int r = 0; r < K.length / 4; ++r) {
+				int k0 = isEncrypt ? (r * 4)     : (K.length - 2 - r * 4) ;
+				int k1 = isEncrypt ? (r * 4 + 2) : (K.length - 4 - r * 4) ;
+
+				// L ^= F(R)
+				IntVector T0 = vR0.lanewise(VectorOperators.XOR, K[k0+0]) ;
+				IntVector T1 = vR1.lanewise(VectorOperators.XOR, K[k0+1]) ;
+				T1 = _G(T1.lanewise(VectorOperators.XOR, T0), index) ;
+				T0 = _G(T0.add(T1), index) ;
+				T1 = _G(T1.add(T0), index) ;
+				T0 = T0.add(T1) ;
+				vL0 = vL0.lanewise(VectorOperators.XOR, T0) ;
+				vL1 = vL1.lanewise(VectorOperators.XOR, T1) ;
+
+				// R ^= F(L)
+				T0 = vL0.lanewise(VectorOperators.XOR, K[k1+0]) ;
+				T1 = vL1.lanewise(VectorOperators.XOR, K[k1+1]) ;
+				T1 = _G(T1.lanewise(VectorOperators.XOR, T0), index) ;
+				T0 = _G(T0.add(T1), index) ;
+				T1 = _G(T1.add(T0), index) ;
+				T0 = T0.add(T1) ;
+				vR0 = vR0.lanewise(VectorOperators.XOR, T0) ;
+				vR1 = vR1.lanewise(VectorOperators.XOR, T1) ;
+			}
+
+			vL0.intoArray(L0, 0) ;
+			vL1.intoArray(L1, 0) ;
+			vR0.intoArray(R0, 0) ;
+			vR1.intoArray(R1, 0) ;
+			for(int j = 0; j < LANES; ++j) {
+				int offset = o_offset + (b + j) * _BLOCK_SIZE ;
+				SEED._i2b(out, offset + 0, R0[j]) ;
+				SEED._i2b(out, offset + 4, R1[j]) ;
+				SEED._i2b(out, offset + 8, L0[j]) ;
+				SEED._i2b(out, offset +12, L1[j]) ;
+			}
+		}
+		return b ;
+	}
+
+	private static IntVector _G(IntVector X, int[] index) {
+		return _Gather(SEED._SS0, X,  0, index)
+				.lanewise(VectorOperators.XOR, _Gather(SEED._SS1, X,  8, index))
+				.lanewise(VectorOperators.XOR, _Gather(SEED._SS2, X, 16, index))
+				.lanewise(VectorOperators.XOR, _Gather(SEED._SS3, X, 24, index)) ;
+	}
+
+	private static IntVector _Gather(int[] table, IntVector X, int shift, int[] index) {
+		X.lanewise(VectorOperators.LSHR, shift).and(0xFF).intoArray(index, 0) ;
+		return IntVector.fromArray(SPECIES, table, 0, index, 0) ;
+	}
+}
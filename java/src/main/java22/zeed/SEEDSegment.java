@@ -0,0 +1,166 @@
+package zeed;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * java.lang.foreign.MemorySegment 암/복호화 (JDK 22 이상)
+ * <p>
+ * Multi-Release Jar의 META-INF/versions/22 에 들어간다.
+ * Off-Heap, Memory-Mapped Segment도 되고, 2GB 이상도 한번에 처리한다.
+ * Segment를 작은 Chunk로 옮겨가며 SEED의 여러 Block 처리(엔진)로 암/복호화하므로 Heap은 Chunk 크기만큼만 쓴다.
+ * <p>
+ * SEED.setParallelism()이 되어 있으면 ECB, CTR(및 CBC 복호화)는 Segment를 나누어 동시에 처리한다.
+ * (여러 Thread에서 접근할 수 있는 Segment만, 즉 Arena.ofShared(), Arena.ofAuto(), Arena.global() 또는 Heap Segment)
+ * <pre>
+ * try (Arena arena = Arena.ofConfined()) {
+ *     MemorySegment cipher = arena.allocate(SEEDSegment.getOutputSize(plain.byteSize(), SEED.Action.ENCRYPT)) ;
+ *     long length = SEEDSegment.encrypt(seed, plain, cipher) ;
+ * }
+ * </pre>
+ */
+public final class SEEDSegment {
+	private static final int _BLOCK_SIZE = 16 ;
+	/** 한번에 Heap으로 옮겨 처리하는 크기 */
+	private static final int _CHUNK_SIZE = 64 * 1024 ;
+	/** 병렬 처리시 Segment 최소 크기 */
+	private static final long _MIN_SEGMENT_SIZE = 1024 * 1024 ;
+	/** 다른 Thread에서 접근 가능한 Segment인지 알아보기 위한 Thread (실행하지 않는다.) */
+	private static final Thread _OTHER_THREAD = new Thread() ;
+
+	private SEEDSegment() {
+	}
+
+	/**
+	 * 암/복호화 결과 최대 길이 (SEED.getOutputSize()의 long 판)
+	 */
+	public static long getOutputSize(long length, SEED.Action action) {
+		if (length <= 0)	return 0 ;
+		return (action == SEED.Action.ENCRYPT) ? (length / _BLOCK_SIZE + 1) * _BLOCK_SIZE : length ;
+	}
+
+	/**
+	 * 암호화하기
+	 * @param seed		키, Mode, Padding 등이 설정된 SEED
+	 * @param plain		암호화할 대상(평문)
+	 * @param cipher	암호문을 쓸 Segment (getOutputSize(plain.byteSize(), Action.ENCRYPT) 이상, plain과 같은 Segment여도 된다.)
+	 * @return cipher에 쓴 길이
+	 */
+	public static long encrypt(SEED seed, MemorySegment plain, MemorySegment cipher) {
+		if (seed.roundKey.length == 0)	throw new ZEEDException(SEED.Error.KEY_LENGTH, "userKey length is zero") ;
+
+		long length = plain.byteSize() ;
+		if (length == 0)	return 0 ;
+
+		long out_size = getOutputSize(length, SEED.Action.ENCRYPT) ;
+		if (cipher.byteSize() < out_size)	throw new ZEEDException(SEED.Error.OUTPUT_LENGTH, "output length < " + out_size) ;
+
+		seed.init(SEED.Action.ENCRYPT) ;
+
+		long full_length = (length / _BLOCK_SIZE) * _BLOCK_SIZE ;
+		byte[] last = new byte[_BLOCK_SIZE] ;
+		MemorySegment.copy(plain, ValueLayout.JAVA_BYTE, full_length, last, 0, (int)(length - full_length)) ;
+		seed._PaddingLast(last, 0, (int)(length - full_length), last, 0) ;
+
+		_run(seed, true, plain, cipher, full_length) ;
+
+		seed._bulkEncrypt(last, 0, last, 0, _BLOCK_SIZE) ;
+		MemorySegment.copy(last, 0, cipher, ValueLayout.JAVA_BYTE, full_length, _BLOCK_SIZE) ;
+		return out_size ;
+	}
+
+	/**
+	 * 복호화하기
+	 * @param seed		키, Mode, Padding 등이 설정된 SEED
+	 * @param cipher	복호화할 암호문 (16의 배수)
+	 * @param plain		원문을 쓸 Segment (Padding을 뺀 길이 이상, cipher와 같은 Segment여도 된다.)
+	 * @return plain에 쓴 길이
+	 */
+	public static long decrypt(SEED seed, MemorySegment cipher, MemorySegment plain) {
+		long length = cipher.byteSize() ;
+		if (length == 0)	return 0 ;
+
+		if (seed.roundKey.length == 0)		throw new ZEEDException(SEED.Error.KEY_LENGTH, "userKey length is zero") ;
+		if ((length % _BLOCK_SIZE) != 0)	throw new ZEEDException(SEED.Error.CIPHER_LENGTH, "cipher length % 16 != 0", false) ;
+
+		long body_length = length - _BLOCK_SIZE ;
+		if (plain.byteSize() < body_length)	throw new ZEEDException(SEED.Error.OUTPUT_LENGTH, "output length < " + body_length) ;
+
+		seed.init(SEED.Action.DECRYPT) ;
+
+		if (seed.is(SEED.Option.DECRYPT_CHECK_PADDING_FIRST)) {	// 키가 틀리면 나머지는 복호화하지 않는다.
+			int tail = (int)Math.min(length, 2 * _BLOCK_SIZE) ;
+			byte[] tail_block = new byte[2 * _BLOCK_SIZE] ;
+			MemorySegment.copy(cipher, ValueLayout.JAVA_BYTE, length - tail, tail_block, tail_block.length - tail, tail) ;
+			seed._checkLast(tail_block, _BLOCK_SIZE, length) ;
+		}
+
+		byte[] last = new byte[_BLOCK_SIZE] ;
+		MemorySegment.copy(cipher, ValueLayout.JAVA_BYTE, body_length, last, 0, _BLOCK_SIZE) ;	// plain과 같은 Segment일 수 있으므로 먼저 읽는다.
+
+		_run(seed, false, cipher, plain, body_length) ;
+
+		seed._bulkDecrypt(last, 0, last, 0, _BLOCK_SIZE) ;
+		int last_length = _BLOCK_SIZE - seed._GetPaddingCount(last, _BLOCK_SIZE) ;
+		if (plain.byteSize() < body_length + last_length)	throw new ZEEDException(SEED.Error.OUTPUT_LENGTH, "output length < " + (body_length + last_length)) ;
+		MemorySegment.copy(last, 0, plain, ValueLayout.JAVA_BYTE, body_length, last_length) ;
+		return body_length + last_length ;
+	}
+
+	/**
+	 * 앞 length(16의 배수) 만큼 암/복호화 (병렬 처리 가능하면 Segment로 나누어 동시에)
+	 */
+	private static void _run(SEED seed, boolean isEncrypt, MemorySegment in, MemorySegment out, long length) {
+		ExecutorService executor = seed.parallel_executor ;
+		boolean parallel = executor != null && length >= seed.parallel_threshold && (seed.mode != SEED.Mode.CBC || !isEncrypt)
+						&& in.isAccessibleBy(_OTHER_THREAD) && out.isAccessibleBy(_OTHER_THREAD) ;	// Arena.ofConfined()는 만든 Thread만 접근 가능
+		if (!parallel) {
+			_crypt(seed, isEncrypt, in, out, 0, length) ;
+			return ;
+		}
+
+		long segment_size = length / (Math.max(SEEDParallel.parallelism(executor), 1) * 4L) ;
+		segment_size = Math.max((segment_size + _BLOCK_SIZE - 1) / _BLOCK_SIZE * _BLOCK_SIZE, _MIN_SEGMENT_SIZE) ;
+
+		List<Callable<Void>> tasks = new ArrayList<Callable<Void>>() ;
+		for(long offset = 0; offset < length; offset += segment_size) {
+			byte[] previous = null ;
+			if (seed.mode == SEED.Mode.CBC && offset != 0) {
+				previous = new byte[_BLOCK_SIZE] ;
+				MemorySegment.copy(in, ValueLayout.JAVA_BYTE, offset - _BLOCK_SIZE, previous, 0, _BLOCK_SIZE) ;
+			}
+			final SEED worker = seed._fork(offset, previous) ;
+			final long segment_offset = offset ;
+			final long segment_length = Math.min(segment_size, length - offset) ;
+			tasks.add(() -> {
+				_crypt(worker, isEncrypt, in, out, segment_offset, segment_length) ;
+				return null ;
+			}) ;
+		}
+
+		byte[] last = new byte[_BLOCK_SIZE] ;
+		if (seed.mode == SEED.Mode.CBC)
+			MemorySegment.copy(in, ValueLayout.JAVA_BYTE, length - _BLOCK_SIZE, last, 0, _BLOCK_SIZE) ;
+		seed._advance(length, last, 0) ;
+
+		SEEDParallel.invokeAll(executor, tasks) ;
+	}
+
+	/**
+	 * [offset, offset + length) 를 Chunk씩 Heap으로 옮겨 차례대로 암/복호화
+	 */
+	private static void _crypt(SEED seed, boolean isEncrypt, MemorySegment in, MemorySegment out, long offset, long length) {
+		byte[] chunk = new byte[(int)Math.min(length, _CHUNK_SIZE)] ;
+		for(long i = 0; i < length; i += chunk.length) {
+			int size = (int)Math.min(length - i, chunk.length) ;
+			MemorySegment.copy(in, ValueLayout.JAVA_BYTE, offset + i, chunk, 0, size) ;
+			if (isEncrypt)	seed._bulkEncrypt(chunk, 0, chunk, 0, size) ;
+			else			seed._bulkDecrypt(chunk, 0, chunk, 0, size) ;
+			MemorySegment.copy(chunk, 0, out, ValueLayout.JAVA_BYTE, offset + i, size) ;
+		}
+	}
+}
@@ -1,6 +1,7 @@
 package zeed;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -12,9 +13,25 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 class SEEDTest {
 	boolean equals(byte[] a, byte[] b) {
@@ -25,6 +42,1034 @@ class SEEDTest {
 		return true ;
 	}
 	
+	static byte[] hex(String hexa) {
+		return SEED.Decode(hexa, SEED.EncodingTable.HEXA_LARGE) ;
+	}
+	
+	@Test
+	void KISATestVector() {
+		// RFC 4269 Appendix B (SEED128)
+		String[][] vectors = {
+			{ "00000000000000000000000000000000", "000102030405060708090A0B0C0D0E0F", "5EBAC6E0054E166819AFF1CC6D346CDB" },
+			{ "000102030405060708090A0B0C0D0E0F", "00000000000000000000000000000000", "C11F22F20140505084483597E4370F43" },
+			{ "4706480851E61BE85D74BFB3FD956185", "83A2F8A288641FB9A4E9A5CC2F131C7D", "EE54D13EBCAE706D226BC3142CD40D4A" },
+			{ "28DBC3BC49FFD87DCFA509B11D422BE7", "B41E6BE2EBA84A148E2EED84593C5EC7", "9B9B7BFCD1813CB95D0B3618F40F5122" },
+		} ;
+		
+		// SEED256 (24 Round, 256bit 키 확장): Block을 펼치기 전 KISA 참조 구현(baseline)의 결과
+		String[][] vectors256 = {
+			{ "0000000000000000000000000000000000000000000000000000000000000000", "000102030405060708090A0B0C0D0E0F", "C609214BE64E38CBEC8E8F0AFEBA74DF" },
+			{ "000102030405060708090A0B0C0D0E0F101112131415161718191A1B1C1D1E1F", "00000000000000000000000000000000", "5F72822F0B1F45CF4E81E4D366060081" },
+			{ "4706480851E61BE85D74BFB3FD956185B41E6BE2EBA84A148E2EED84593C5EC7", "83A2F8A288641FB9A4E9A5CC2F131C7D", "CFDA663265969D832D37E3C4F5505723" },
+			{ "28DBC3BC49FFD87DCFA509B11D422BE783A2F8A288641FB9A4E9A5CC2F131C7D", "B41E6BE2EBA84A148E2EED84593C5EC7", "60F22269B55F9BE4206244166532A2C7" },
+		} ;
+		
+		assertKnownAnswer(SEED.Bit.SEED128, vectors) ;
+		assertKnownAnswer(SEED.Bit.SEED256, vectors256) ;
+	}
+	
+	/**
+	 * { 키, 평문, 암호문 } 1 Block 암/복호화 확인
+	 */
+	static void assertKnownAnswer(SEED.Bit bit, String[][] vectors) {
+		SEED seed = new SEED(SEED.Mode.ECB, bit, SEED.Padding.PKCS7);
+		for(String[] vector : vectors) {
+			seed.setUserKey(hex(vector[0])) ;
+			String msg = "KISATestVector (" + bit + " " + vector[0] + ")" ;
+			byte[] cipher = seed.encrypt(hex(vector[1])) ;
+			assertEquals(vector[2], SEED.Encode(cipher, SEED.EncodingTable.HEXA_LARGE).substring(0, 32), msg + " encrypt") ;
+			assertArrayEquals(hex(vector[1]), seed.decrypt(cipher), msg + " decrypt") ;
+			
+			byte[] block = new byte[16] ;
+			SEED._SCALAR_ENGINE.decrypt(hex(vector[2]), 0, block, 0, 1, seed.roundKey) ;
+			assertArrayEquals(hex(vector[1]), block, msg + " decrypt block") ;
+		}
+	}
+	
+	/**
+	 * 1 Block 암호화(KISATestVector로 확인)만으로 CBC/CTR을 직접 이어 붙인 기준 암호화 (PKCS7)
+	 */
+	static byte[] referenceEncrypt(SEED seed, byte[] iv, byte[] plain) {
+		int pad = 16 - plain.length % 16 ;
+		byte[] ret = Arrays.copyOf(plain, plain.length + pad) ;
+		Arrays.fill(ret, plain.length, ret.length, (byte)pad) ;
+
+		byte[] chain = iv.clone() ;
+		byte[] block = new byte[16] ;
+		for(int offset = 0; offset < ret.length; offset += 16) {
+			switch(seed.mode)
+			{
+			case ECB :
+						SEED._SCALAR_ENGINE.encrypt(ret, offset, ret, offset, 1, seed.roundKey) ;
+						break ;
+			case CBC :
+						for(int i = 0; i < 16; ++i)	ret[offset + i] ^= chain[i] ;
+						SEED._SCALAR_ENGINE.encrypt(ret, offset, ret, offset, 1, seed.roundKey) ;
+						System.arraycopy(ret, offset, chain, 0, 16) ;
+						break ;
+			case CTR :
+						SEED._SCALAR_ENGINE.encrypt(chain, 0, block, 0, 1, seed.roundKey) ;
+						for(int i = 0; i < 16; ++i)	ret[offset + i] ^= block[i] ;
+						for(int i = 15; i >= 0 && ++chain[i] == 0; --i) ;	// 128bit Big-Endian 증가
+						break ;
+			}
+		}
+		return ret ;
+	}
+	
+	@Test
+	void MultiBlockTest() throws IOException {
+		byte[] plain_text = new byte[1000] ;
+		for(int i = 0; i < plain_text.length; ++i)
+			plain_text[i] = (byte)(i * 31) ;
+		byte[] iv = hex("0000000000000000FFFFFFFFFFFFFFF0") ;	// CTR은 도중에 상위 64bit로 올라간다.
+		
+		for(SEED.Mode mode : SEED.Mode.values())
+		for(SEED.Bit bit : SEED.Bit.values()) {
+			SEED seed = new SEED(mode, bit, SEED.Padding.PKCS7);
+			seed.setUserKey("1234");
+			seed.setInitialVector(iv);
+			seed.setCounter(iv);
+			for(int length : new int[] { 15, 16, 63, 64, 65, 200, 1000 }) {
+				byte[] plain = Arrays.copyOf(plain_text, length) ;
+				byte[] cipher = seed.encrypt(plain) ;
+				String msg = String.format("MultiBlockTest (%s %s %d)", mode, bit, length) ;
+				
+				// 여러 Block 처리(4 Block 병렬 포함)는 1 Block씩 직접 이어 붙인 기준 암호화와 같아야 한다.
+				assertArrayEquals(referenceEncrypt(seed, iv, plain), cipher, msg + " encrypt") ;
+				ByteArrayOutputStream baos = new ByteArrayOutputStream() ;
+				seed.encrypt(new ByteArrayInputStream(plain), baos) ;
+				assertArrayEquals(cipher, baos.toByteArray(), msg + " stream") ;
+				assertArrayEquals(plain, seed.decrypt(cipher), msg + " decrypt") ;
+			}
+		}
+	}
+	
+	@Test
+	void EngineTest() {
+		// Vector 엔진(JDK 17 이상)과 Scalar 엔진의 결과가 같아야 한다.
+		SEEDEngine engine = SEED._LoadVectorEngine() ;
+		if (engine == null)	engine = SEED._ENGINE ;
+		byte[] data = new byte[16 * 100] ;
+		new Random(1234).nextBytes(data) ;
+		for(SEED.Bit bit : SEED.Bit.values()) {
+			SEED seed = new SEED(SEED.Mode.ECB, bit, SEED.Padding.PKCS7);
+			seed.setUserKey("1234");
+			for(int blocks : new int[] { 1, 3, 4, 8, 16, 17, 100 }) {
+				byte[] expected = new byte[blocks * 16], actual = new byte[blocks * 16] ;
+				SEED._SCALAR_ENGINE.encrypt(data, 0, expected, 0, blocks, seed.roundKey) ;
+				engine.encrypt(data, 0, actual, 0, blocks, seed.roundKey) ;
+				assertArrayEquals(expected, actual, String.format("EngineTest encrypt (%s %s %d)", engine, bit, blocks)) ;
+				
+				engine.decrypt(actual, 0, actual, 0, blocks, seed.roundKey) ;
+				assertArrayEquals(Arrays.copyOf(data, blocks * 16), actual, String.format("EngineTest decrypt (%s %s %d)", engine, bit, blocks)) ;
+			}
+		}
+	}
+	
+	@Test
+	void CounterCarryTest() {
+		// 하위 64bit가 넘치면 상위 64bit로 올라가야 한다.
+		byte[] counter = hex("0000000000000000FFFFFFFFFFFFFFFF") ;
+		byte[] next    = hex("00000000000000010000000000000000") ;
+		
+		SEED ctr = new SEED(SEED.Mode.CTR, SEED.Bit.SEED128, SEED.Padding.PKCS7);
+		ctr.setUserKey("1234");
+		ctr.setCounter(counter);
+		byte[] key_stream = ctr.encrypt(new byte[16]) ;	// Padding Block 포함 32 Byte
+		
+		SEED ecb = new SEED(SEED.Mode.ECB, SEED.Bit.SEED128, SEED.Padding.PKCS7);
+		ecb.setUserKey("1234");
+		assertArrayEquals(Arrays.copyOfRange(ecb.encrypt(counter), 0, 16), Arrays.copyOfRange(key_stream, 0, 16), "CounterCarryTest counter") ;
+		byte[] padding_block = ecb.encrypt(next) ;
+		for(int i = 0; i < 16; ++i)
+			padding_block[i] ^= 0x10 ;	// PKCS7 Padding Block은 0x10 * 16
+		assertArrayEquals(Arrays.copyOfRange(padding_block, 0, 16), Arrays.copyOfRange(key_stream, 16, 32), "CounterCarryTest counter + 1") ;
+	}
+	
+	@Test
+	void ParallelCTRTest() {
+		byte[] plain = new byte[3 * 1024 * 1024 + 5] ;
+		new Random(1234).nextBytes(plain) ;
+		byte[] counter = hex("0000000000000000FFFFFFFFFFFF0000") ;	// Segment 중간에 상위 64bit로 Carry
+		
+		SEED seed = new SEED(SEED.Mode.CTR, SEED.Bit.SEED128, SEED.Padding.PKCS7);
+		seed.setUserKey("1234");
+		seed.setCounter(counter);
+		byte[] expected = seed.encrypt(plain) ;
+		
+		ForkJoinPool pool = new ForkJoinPool(4) ;
+		try {
+			seed.setParallelism(pool) ;
+			assertArrayEquals(expected, seed.encrypt(plain), "ParallelCTRTest encrypt") ;
+			assertArrayEquals(plain, seed.decrypt(expected), "ParallelCTRTest decrypt") ;
+			assertArrayEquals(Arrays.copyOfRange(expected, 0, 2 * 1024 * 1024), 
+					Arrays.copyOfRange(seed.encrypt(plain, 0, 2 * 1024 * 1024), 0, 2 * 1024 * 1024), "ParallelCTRTest range") ;
+		} finally {
+			pool.shutdown() ;
+		}
+	}
+	
+	@Test
+	void ParallelECBTest() {
+		byte[] plain = new byte[1024 * 1024 + 7] ;
+		new Random(5678).nextBytes(plain) ;
+		
+		for(SEED.Bit bit : SEED.Bit.values()) {
+			SEED seed = new SEED(SEED.Mode.ECB, bit, SEED.Padding.X923);
+			seed.setUserKey("1234");
+			byte[] expected = seed.encrypt(plain) ;
+			
+			// newCachedThreadPool()은 최대 Thread 수가 Integer.MAX_VALUE
+			for(ExecutorService executor : new ExecutorService[] { Executors.newFixedThreadPool(3), Executors.newCachedThreadPool() }) {
+				try {
+					assertTrue(SEEDParallel.parallelism(executor) <= Math.max(3, Runtime.getRuntime().availableProcessors())) ;
+					seed.setParallelism(executor, 64 * 1024) ;
+					assertArrayEquals(expected, seed.encrypt(plain), "ParallelECBTest encrypt") ;
+					assertArrayEquals(plain, seed.decrypt(expected), "ParallelECBTest decrypt") ;
+				} finally {
+					executor.shutdown() ;
+				}
+			}
+		}
+	}
+	
+	@Test
+	void ParallelCBCDecryptTest() throws IOException {
+		byte[] plain = new byte[2 * 1024 * 1024 + 3] ;
+		new Random(9012).nextBytes(plain) ;
+		
+		SEED seed = new SEED(SEED.Mode.CBC, SEED.Bit.SEED256, SEED.Padding.PKCS7);
+		seed.setUserKey("1234");
+		seed.setInitialVector(hex("000102030405060708090A0B0C0D0E0F"));
+		byte[] cipher = seed.encrypt(plain) ;
+		
+		ForkJoinPool pool = new ForkJoinPool(4) ;
+		try {
+			seed.setParallelism(pool, 256 * 1024) ;
+			assertArrayEquals(cipher, seed.encrypt(plain), "ParallelCBCDecryptTest encrypt") ;
+			assertArrayEquals(plain, seed.decrypt(cipher), "ParallelCBCDecryptTest decrypt") ;
+			
+			ByteArrayOutputStream baos = new ByteArrayOutputStream() ;
+			seed.decrypt(new ByteArrayInputStream(cipher), baos) ;
+			assertArrayEquals(plain, baos.toByteArray(), "ParallelCBCDecryptTest stream") ;
+		} finally {
+			pool.shutdown() ;
+		}
+	}
+	
+	@Test
+	void MultiBufferCBCTest() {
+		Random random = new Random(3456) ;
+		byte[][] plains = new byte[150][] ;
+		byte[][] ivs = new byte[plains.length][16] ;
+		for(int i = 0; i < plains.length; ++i) {
+			plains[i] = new byte[random.nextInt(300)] ;
+			random.nextBytes(plains[i]) ;
+			random.nextBytes(ivs[i]) ;
+		}
+		plains[7] = null ;
+		
+		for(SEED.Bit bit : SEED.Bit.values()) {
+			SEED seed = new SEED(SEED.Mode.CBC, bit, SEED.Padding.BIT);
+			seed.setUserKey("1234");
+			byte[][] ciphers = seed.encrypt(plains, ivs) ;
+			for(int i = 0; i < plains.length; ++i) {
+				seed.setInitialVector(ivs[i]);
+				assertArrayEquals(seed.encrypt(plains[i]), ciphers[i], String.format("MultiBufferCBCTest (%s %d)", bit, i)) ;
+			}
+		}
+	}
+	
+	@Test
+	void BatchTest() {
+		Random random = new Random(4567) ;
+		String[] plains = new String[1000] ;
+		for(int i = 0; i < plains.length; ++i) {
+			char[] chars = new char[random.nextInt(60)] ;
+			for(int j = 0; j < chars.length; ++j)	chars[j] = (char)('가' + random.nextInt(100)) ;
+			plains[i] = new String(chars) ;
+		}
+		plains[3] = null ;
+		Charset utf8 = Charset.forName("UTF-8") ;
+		
+		for(SEED.Mode mode : SEED.Mode.values()) {
+			SEED seed = new SEED(mode, SEED.Bit.SEED128, SEED.Padding.PKCS7);
+			List<ZEEDResult<String>> ciphers = seed.encryptAll(plains, "1234", utf8, null) ;
+			for(int i = 0; i < plains.length; ++i) {
+				assertTrue(ciphers.get(i).isOK()) ;
+				if (plains[i] != null)	assertEquals(seed.encrypt(plains[i], "1234", utf8), ciphers.get(i).value()) ;
+			}
+		
+			String[] texts = new String[plains.length] ;
+			for(int i = 0; i < plains.length; ++i)	texts[i] = ciphers.get(i).value() ;
+			texts[5] = texts[5].substring(0, texts[5].length() - 1) ;	// 암호문 길이 오류
+		
+			ForkJoinPool pool = new ForkJoinPool(4) ;
+			List<ZEEDResult<String>> decrypted ;
+			try {
+				seed.setParallelism(pool);
+				decrypted = seed.decryptAll(texts, "1234", utf8, null) ;
+			} finally {
+				pool.shutdown() ;
+			}
+			for(int i = 0; i < plains.length; ++i) {
+				if (i == 5)	assertFalse(decrypted.get(i).isOK(), "BatchTest (" + mode + ")") ;
+				else		assertEquals(plains[i], decrypted.get(i).value(), "BatchTest (" + mode + " " + i + ")") ;
+			}
+		}
+	}
+	
+	@Test
+	void KeyTest() throws Exception {
+		byte[] plain = new byte[1000] ;
+		new Random(5678).nextBytes(plain) ;
+		
+		for(SEED.Bit bit : SEED.Bit.values()) {
+			SEED seed = new SEED(SEED.Mode.CBC, bit, SEED.Padding.PKCS7);
+			seed.setUserKey("1234");
+			byte[] expected = seed.encrypt(plain) ;
+		
+			SEEDKey key = SEEDKey.of(bit, "1234") ;
+			ExecutorService executor = Executors.newFixedThreadPool(4) ;
+			try {
+				List<Future<byte[]>> futures = new ArrayList<>() ;
+				for(int i = 0; i < 16; ++i)
+					futures.add(executor.submit(() -> new SEED(SEED.Mode.CBC, SEED.Padding.PKCS7, key).encrypt(plain))) ;
+				for(Future<byte[]> future : futures)
+					assertArrayEquals(expected, future.get(), "KeyTest (" + bit + ")") ;
+			} finally {
+				executor.shutdown() ;
+			}
+		}
+		
+		// 요청마다 만드는 SEED는 쓰지 않는 Multi Block Buffer를 만들지 않는다.
+		SEED light = new SEED(SEED.Mode.CBC, SEED.Padding.PKCS7, SEEDKey.of(SEED.Bit.SEED128, "1234")) ;
+		light.encrypt(plain) ;
+		assertNull(light.multi_buffer) ;
+		light.decrypt(light.encrypt(plain)) ;
+		assertNotNull(light.multi_buffer) ;
+		
+		SEED seed = new SEED(SEED.Mode.ECB, SEED.Bit.SEED128, SEED.Padding.PKCS7);
+		ZEEDException e = assertThrows(ZEEDException.class, () -> seed.setKey(SEEDKey.of(SEED.Bit.SEED256, "1234"))) ;
+		assertEquals(SEED.Error.KEY_LENGTH, e.getError()) ;
+	}
+	
+	@Test
+	void KeyCacheTest() {
+		SEEDKeyCache cache = new SEEDKeyCache(2) ;
+		SEEDKey key1 = cache.get(SEED.Bit.SEED128, "key1") ;
+		assertSame(key1, cache.get(SEED.Bit.SEED128, "key1")) ;
+		assertNotSame(key1, cache.get(SEED.Bit.SEED256, "key1")) ;
+		assertEquals(1, cache.hitCount()) ;
+		assertEquals(2, cache.missCount()) ;
+		
+		byte[] userKey = "0123456789abcdef".getBytes() ;
+		SEEDKey key2 = cache.get(SEED.Bit.SEED128, userKey) ;
+		userKey[0] = 'X' ;
+		assertNotSame(key2, cache.get(SEED.Bit.SEED128, userKey)) ;
+		userKey[0] = '0' ;
+		assertEquals(2, cache.size()) ;
+		assertEquals(2, cache.evictionCount()) ;
+		assertSame(key2, cache.get(SEED.Bit.SEED128, userKey)) ;
+		assertNotSame(key1, cache.get(SEED.Bit.SEED128, "key1")) ;	// 이미 밀려남
+		
+		SEED seed = new SEED(SEED.Mode.CBC, SEED.Bit.SEED128, SEED.Padding.PKCS7);
+		seed.setKey(cache.get(SEED.Bit.SEED128, "key1"));
+		String cipher = SEED.Encode(seed.encrypt("cache".getBytes()), null) ;
+		assertEquals(cipher, seed.encrypt("cache", "key1")) ;
+		assertEquals(cipher, seed.encrypt("cache", "key1")) ;
+		assertSame(SEEDKeyCache.shared().get(SEED.Bit.SEED128, "key1"), SEEDKeyCache.shared().get(SEED.Bit.SEED128, "key1")) ;
+		
+		// 길이가 틀린 키는 찾기 전에 거절한다.
+		long misses = cache.missCount() ;
+		assertThrows(ZEEDException.class, () -> cache.get(SEED.Bit.SEED128, new byte[15])) ;
+		assertThrows(ZEEDException.class, () -> cache.get(SEED.Bit.SEED128, "01234567890123456")) ;
+		assertEquals(misses, cache.missCount()) ;
+		
+		// 여러 Thread에서 동시에 (capacity보다 많은 키를 돌려 써도 결과는 같은 키)
+		SEEDKeyCache shared = new SEEDKeyCache(8) ;
+		List<Integer> ids = new ArrayList<Integer>() ;
+		for(int i = 0; i < 2000; ++i)	ids.add(i % 20) ;
+		ids.parallelStream().forEach(i -> assertArrayEquals(SEEDKey.of(SEED.Bit.SEED128, "key" + i).roundKey(), shared.get(SEED.Bit.SEED128, "key" + i).roundKey())) ;
+		assertTrue(shared.size() <= 8 + ForkJoinPool.getCommonPoolParallelism() + 1) ;
+		assertEquals(2000, shared.hitCount() + shared.missCount()) ;
+	}
+	
+	@Test
+	void KeyringTest() {
+		SEEDKeyring keyring = new SEEDKeyring(SEED.Mode.CBC, SEED.Padding.PKCS7) ;
+		keyring.setInitialVector(hex("000102030405060708090A0B0C0D0E0F")) ;
+		keyring.put(1, SEEDKey.of(SEED.Bit.SEED128, "old-key")) ;
+		keyring.put(0x1234, SEEDKey.of(SEED.Bit.SEED256, "new-key")) ;
+
+		keyring.setCurrent(1) ;
+		String old_cipher = keyring.encrypt("한글 평문", Charset.forName("UTF-8"), null) ;
+		keyring.setCurrent(0x1234) ;
+		byte[] new_cipher = keyring.encrypt("plain".getBytes()) ;
+		assertEquals(0x1234, SEEDKeyring.keyId(new_cipher)) ;
+		assertEquals(1, SEEDKeyring.keyId(SEED.Decode(old_cipher, null))) ;
+
+		assertEquals("한글 평문", keyring.decrypt(old_cipher, Charset.forName("UTF-8"), null)) ;
+		assertArrayEquals("plain".getBytes(), keyring.decrypt(new_cipher)) ;
+
+		SEED seed = new SEED(SEED.Mode.CBC, SEED.Bit.SEED256, SEED.Padding.PKCS7);
+		seed.setInitialVector(hex("000102030405060708090A0B0C0D0E0F")) ;
+		assertArrayEquals(seed.encrypt("plain".getBytes(), "new-key"), Arrays.copyOfRange(new_cipher, SEEDKeyring.HEADER_SIZE, new_cipher.length)) ;
+
+		keyring.remove(1) ;
+		ZEEDException e = assertThrows(ZEEDException.class, () -> keyring.decrypt(old_cipher, null, null)) ;
+		assertEquals(SEED.Error.UNKNOWN_KEY_ID, e.getError()) ;
+		assertThrows(IllegalStateException.class, () -> keyring.remove(0x1234)) ;
+
+		assertNull(keyring.encrypt((byte[])null)) ;
+		assertNull(keyring.decrypt((byte[])null)) ;
+	}
+
+	@Test
+	void OutputBufferTest() {
+		Random random = new Random(6789) ;
+		byte[] plain = new byte[777] ;
+		random.nextBytes(plain) ;
+
+		for(SEED.Mode mode : SEED.Mode.values())
+		for(SEED.Padding padding : SEED.Padding.values()) {
+			SEED seed = new SEED(mode, SEED.Bit.SEED128, padding);
+			seed.setUserKey("1234");
+			byte[] expected = seed.encrypt(plain) ;
+
+			// 한번에 (같은 Buffer에서 암/복호화)
+			byte[] buffer = new byte[10 + seed.getOutputSize(plain.length, SEED.Action.ENCRYPT)] ;
+			System.arraycopy(plain, 0, buffer, 10, plain.length) ;
+			assertEquals(expected.length, seed.encrypt(buffer, 10, plain.length, buffer, 10)) ;
+			assertArrayEquals(expected, Arrays.copyOfRange(buffer, 10, buffer.length), "OutputBufferTest encrypt (" + mode + " " + padding + ")") ;
+			assertEquals(plain.length, seed.decrypt(buffer, 10, expected.length, buffer, 10)) ;
+			assertArrayEquals(plain, Arrays.copyOfRange(buffer, 10, 10 + plain.length), "OutputBufferTest decrypt (" + mode + " " + padding + ")") ;
+
+			// 나누어서
+			for(SEED.Action action : SEED.Action.values()) {
+				byte[] in = (action == SEED.Action.ENCRYPT) ? plain : expected ;
+				byte[] out = new byte[seed.getOutputSize(in.length, action)] ;
+				int o_index = 0 ;
+				seed.init(action) ;
+				for(int i = 0; i < in.length;) {
+					int size = Math.min(random.nextInt(40), in.length - i) ;
+					assertTrue(out.length - o_index >= seed.getProcessOutputSize(size)) ;
+					o_index += seed.process(in, i, size, out, o_index) ;
+					i += size ;
+				}
+				o_index += seed.finish(out, o_index) ;
+				byte[] result = Arrays.copyOf(out, o_index) ;
+				assertArrayEquals((action == SEED.Action.ENCRYPT) ? expected : plain, result, "OutputBufferTest process (" + mode + " " + padding + " " + action + ")") ;
+			}
+
+			ZEEDException e = assertThrows(ZEEDException.class, () -> seed.encrypt(plain, 0, plain.length, new byte[plain.length], 0)) ;
+			assertEquals(SEED.Error.OUTPUT_LENGTH, e.getError()) ;
+		}
+	}
+
+	@Test
+	void ByteBufferTest() {
+		byte[] plain = new byte[40000 + 9] ;
+		new Random(7890).nextBytes(plain) ;
+
+		for(SEED.Mode mode : SEED.Mode.values()) {
+			SEED seed = new SEED(mode, SEED.Bit.SEED256, SEED.Padding.PKCS7);
+			seed.setUserKey("1234");
+			byte[] expected = seed.encrypt(plain) ;
+
+			for(boolean direct : new boolean[] { false, true }) {
+				ByteBuffer src = direct ? ByteBuffer.allocateDirect(plain.length) : ByteBuffer.allocate(plain.length) ;
+				src.put(plain).flip() ;
+				ByteBuffer dst = direct ? ByteBuffer.allocateDirect(expected.length + 3) : ByteBuffer.allocate(expected.length + 3) ;
+				dst.position(3) ;
+				assertEquals(expected.length, seed.encrypt(src, dst)) ;
+				assertFalse(src.hasRemaining()) ;
+				dst.flip().position(3) ;
+				byte[] cipher = new byte[dst.remaining()] ;
+				dst.duplicate().get(cipher) ;
+				assertArrayEquals(expected, cipher, "ByteBufferTest encrypt (" + mode + " " + direct + ")") ;
+
+				ByteBuffer out = direct ? ByteBuffer.allocateDirect(expected.length) : ByteBuffer.allocate(expected.length) ;
+				assertEquals(plain.length, seed.decrypt(dst.asReadOnlyBuffer(), out)) ;
+				out.flip() ;
+				assertEquals(ByteBuffer.wrap(plain), out, "ByteBufferTest decrypt (" + mode + " " + direct + ")") ;
+
+				// update / doFinal
+				src.rewind() ;
+				ByteBuffer stream = direct ? ByteBuffer.allocateDirect(expected.length) : ByteBuffer.allocate(expected.length) ;
+				seed.init(SEED.Action.ENCRYPT) ;
+				for(int limit = 1000; limit < plain.length; limit += 7777) {
+					src.limit(limit) ;
+					seed.update(src, stream) ;
+				}
+				src.limit(plain.length) ;
+				seed.doFinal(src, stream) ;
+				stream.flip() ;
+				assertEquals(ByteBuffer.wrap(expected), stream, "ByteBufferTest doFinal (" + mode + " " + direct + ")") ;
+			}
+
+			// 같은 배열의 어긋난 위치 (src가 dst보다 앞, 뒤)
+			for(int shift : new int[] { -5, 5, 32 }) {
+				byte[] array = new byte[expected.length + 64] ;
+				int s_offset = 32, d_offset = 32 + shift ;
+				System.arraycopy(plain, 0, array, s_offset, plain.length) ;
+				ByteBuffer shared_src = ByteBuffer.wrap(array, s_offset, plain.length) ;
+				ByteBuffer shared_dst = ByteBuffer.wrap(array, d_offset, expected.length) ;
+				assertEquals(expected.length, seed.encrypt(shared_src, shared_dst)) ;
+				assertArrayEquals(expected, Arrays.copyOfRange(array, d_offset, d_offset + expected.length), "ByteBufferTest shifted encrypt (" + mode + " " + shift + ")") ;
+
+				System.arraycopy(expected, 0, array, s_offset, expected.length) ;
+				shared_src = ByteBuffer.wrap(array, s_offset, expected.length) ;
+				shared_dst = ByteBuffer.wrap(array, d_offset, expected.length) ;
+				assertEquals(plain.length, seed.decrypt(shared_src, shared_dst)) ;
+				assertArrayEquals(plain, Arrays.copyOfRange(array, d_offset, d_offset + plain.length), "ByteBufferTest shifted decrypt (" + mode + " " + shift + ")") ;
+
+				System.arraycopy(plain, 0, array, s_offset, plain.length) ;
+				shared_src = ByteBuffer.wrap(array, s_offset, plain.length) ;
+				shared_dst = ByteBuffer.wrap(array, d_offset, expected.length) ;
+				seed.init(SEED.Action.ENCRYPT) ;
+				seed.doFinal(shared_src, shared_dst) ;
+				assertArrayEquals(expected, Arrays.copyOfRange(array, d_offset, d_offset + expected.length), "ByteBufferTest shifted doFinal (" + mode + " " + shift + ")") ;
+			}
+
+			ZEEDException e = assertThrows(ZEEDException.class, () -> seed.encrypt(ByteBuffer.wrap(plain), ByteBuffer.allocate(plain.length))) ;
+			assertEquals(SEED.Error.OUTPUT_LENGTH, e.getError()) ;
+		}
+	}
+
+	@Test
+	void AppendProcessTest() throws IOException {
+		Random random = new Random(9012) ;
+		byte[] plain = new byte[5000] ;
+		random.nextBytes(plain) ;
+
+		for(SEED.Mode mode : SEED.Mode.values()) {
+			SEED seed = new SEED(mode, SEED.Bit.SEED128, SEED.Padding.BIT);
+			seed.setUserKey("1234");
+			byte[] cipher = seed.encrypt(plain) ;
+
+			// append()와 process()를 섞어도 결과는 이어져야 한다.
+			for(SEED.Action action : SEED.Action.values()) {
+				byte[] in = (action == SEED.Action.ENCRYPT) ? plain : cipher ;
+				ByteArrayOutputStream baos = new ByteArrayOutputStream() ;
+				seed.init(action) ;
+				for(int i = 0; i < in.length;) {
+					int size = Math.min(random.nextInt(100), in.length - i) ;
+					byte[] chunk = Arrays.copyOfRange(in, i, i + size) ;
+					if (random.nextBoolean())	seed.append(chunk) ;
+					else						baos.write(seed.process(chunk)) ;
+					i += size ;
+				}
+				baos.write(seed.finish()) ;
+				assertArrayEquals((action == SEED.Action.ENCRYPT) ? cipher : plain, baos.toByteArray(), "AppendProcessTest (" + mode + " " + action + ")") ;
+			}
+		}
+	}
+
+	@Test
+	void TryDecryptTest() {
+		byte[] plain = "TryDecryptTest 1234567890".getBytes(Charset.forName("UTF-8")) ;
+
+		for(SEED.Mode mode : SEED.Mode.values()) {
+			SEED seed = new SEED(mode, SEED.Bit.SEED128, SEED.Padding.PKCS7);
+			seed.setUserKey("1234");
+			byte[] cipher = seed.encrypt(plain) ;
+
+			ZEEDResult<byte[]> result = seed.tryDecrypt(cipher) ;
+			assertTrue(result.isOK(), "TryDecryptTest (" + mode + ")") ;
+			assertArrayEquals(plain, result.value(), "TryDecryptTest (" + mode + ")") ;
+
+			result = seed.tryDecrypt(cipher, 0, cipher.length - 1) ;
+			assertEquals(SEED.Error.CIPHER_LENGTH, result.error()) ;
+
+			// 틀린 키는 예외 없이 실패 (우연히 Padding이 맞을 수도 있으므로 여러 키로)
+			int failures = 0 ;
+			for(int i = 0; i < 16; ++i) {
+				seed.setUserKey("wrong" + i) ;
+				result = seed.tryDecrypt(cipher) ;
+				if (result.isOK())	continue ;
+				assertEquals(SEED.Error.PADDING, result.error()) ;
+				++failures ;
+
+				ZEEDException e = assertThrows(ZEEDException.class, () -> seed.decrypt(cipher)) ;
+				assertEquals(SEED.Error.PADDING, e.getError()) ;
+				assertEquals(0, e.getStackTrace().length) ;
+			}
+			assertTrue(failures > 0, "TryDecryptTest wrong key (" + mode + ")") ;
+		}
+
+		SEED seed = new SEED(SEED.Mode.CBC, SEED.Bit.SEED128, SEED.Padding.PKCS7);
+		String cipher_text = seed.encrypt("안녕하세요", "1234", Charset.forName("UTF-8"), null) ;
+		assertEquals("안녕하세요", seed.tryDecrypt(cipher_text, "1234", Charset.forName("UTF-8"), null).value()) ;
+		assertEquals(SEED.Error.INVALID_DECODING_CHARACTER, seed.tryDecrypt("@@@@", "1234", Charset.forName("UTF-8"), null).error()) ;
+
+		// 범위를 벗어난 offset/length도 예외 없이
+		byte[] cipher = seed.encrypt(new byte[40]) ;
+		assertEquals(SEED.Error.CIPHER_LENGTH, seed.tryDecrypt(cipher, 0, -16).error()) ;
+		assertEquals(SEED.Error.CIPHER_LENGTH, seed.tryDecrypt(cipher, -16, 16).error()) ;
+		assertEquals(SEED.Error.CIPHER_LENGTH, seed.tryDecrypt(cipher, 16, cipher.length).error()) ;
+		assertEquals(SEED.Error.CIPHER_LENGTH, seed.tryDecrypt(cipher, Integer.MAX_VALUE, 16).error()) ;
+		assertTrue(seed.tryDecrypt(cipher, 0, cipher.length).isOK()) ;
+	}
+
+	@Test
+	void CheckPaddingFirstTest() {
+		byte[] plain = new byte[1000] ;
+		new Random(123).nextBytes(plain) ;
+
+		for(SEED.Mode mode : SEED.Mode.values())
+		for(int length : new int[] { 1, 16, 1000 }) {
+			byte[] data = Arrays.copyOf(plain, length) ;
+			SEED seed = new SEED(mode, SEED.Bit.SEED128, SEED.Padding.PKCS7);
+			seed.setUserKey("1234");
+			byte[] cipher = seed.encrypt(data) ;
+
+			seed.option(SEED.Option.DECRYPT_CHECK_PADDING_FIRST) ;
+			assertTrue(seed.verifyKey(cipher), "CheckPaddingFirstTest verifyKey (" + mode + " " + length + ")") ;
+			assertArrayEquals(data, seed.decrypt(cipher), "CheckPaddingFirstTest (" + mode + " " + length + ")") ;
+			assertArrayEquals(data, seed.tryDecrypt(cipher).value(), "CheckPaddingFirstTest tryDecrypt (" + mode + " " + length + ")") ;
+
+			// 같은 배열에 복호화
+			byte[] inplace = cipher.clone() ;
+			assertEquals(length, seed.decrypt(inplace, 0, inplace.length, inplace, 0)) ;
+			assertArrayEquals(data, Arrays.copyOf(inplace, length), "CheckPaddingFirstTest inplace (" + mode + " " + length + ")") ;
+
+			ByteBuffer dst = ByteBuffer.allocateDirect(cipher.length) ;
+			ByteBuffer src = ByteBuffer.allocateDirect(cipher.length) ;
+			src.put(cipher).flip() ;
+			assertEquals(length, seed.decrypt(src, dst)) ;
+			dst.flip() ;
+			assertEquals(ByteBuffer.wrap(data), dst, "CheckPaddingFirstTest ByteBuffer (" + mode + " " + length + ")") ;
+
+			// verifyKey()는 진행 중인 process()를 건드리지 않는다.
+			seed.init(SEED.Action.DECRYPT) ;
+			byte[] head = seed.process(Arrays.copyOfRange(cipher, 0, cipher.length / 2)) ;
+			assertTrue(seed.verifyKey(cipher)) ;
+			assertFalse(seed.verifyKey(cipher, 16, cipher.length)) ;
+			byte[] tail = seed.process(Arrays.copyOfRange(cipher, cipher.length / 2, cipher.length)) ;
+			ByteArrayOutputStream stream = new ByteArrayOutputStream() ;
+			stream.write(head, 0, head.length) ;
+			stream.write(tail, 0, tail.length) ;
+			byte[] last = seed.finish() ;
+			stream.write(last, 0, last.length) ;
+			assertArrayEquals(data, stream.toByteArray(), "CheckPaddingFirstTest verifyKey while streaming (" + mode + " " + length + ")") ;
+
+			// 틀린 키: 마지막 Block만으로 판단한 결과와 Option 없이 전체 복호화한 결과가 같아야 한다.
+			SEED full = new SEED(mode, SEED.Bit.SEED128, SEED.Padding.PKCS7);
+			for(int i = 0; i < 16; ++i) {
+				seed.setUserKey("wrong" + i) ;
+				full.setUserKey("wrong" + i) ;
+				boolean verified = seed.verifyKey(cipher) ;
+				assertEquals(verified, full.tryDecrypt(cipher).isOK(), "CheckPaddingFirstTest wrong key (" + mode + " " + length + ")") ;
+				assertEquals(verified, seed.tryDecrypt(cipher).isOK(), "CheckPaddingFirstTest wrong key tryDecrypt (" + mode + " " + length + ")") ;
+				if (!verified)
+					assertEquals(SEED.Error.PADDING, assertThrows(ZEEDException.class, () -> seed.decrypt(cipher)).getError()) ;
+			}
+		}
+	}
+
+	/**
+	 * Socket, Pipe처럼 조금씩 읽히는 InputStream
+	 */
+	static class TrickleInputStream extends FilterInputStream {
+		private final Random random ;
+
+		TrickleInputStream(byte[] data, long seed) {
+			super(new ByteArrayInputStream(data)) ;
+			this.random = new Random(seed) ;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			return super.read(b, off, Math.min(len, 1 + random.nextInt(37))) ;
+		}
+	}
+
+	@Test
+	void StreamTest() throws IOException {
+		Random random = new Random(2345) ;
+		for(SEED.Mode mode : SEED.Mode.values())
+		for(SEED.Padding padding : SEED.Padding.values())
+		for(int length : new int[] { 0, 1, 16, 100, 70000 }) {
+			byte[] plain = new byte[length] ;
+			random.nextBytes(plain) ;
+			SEED seed = new SEED(mode, SEED.Bit.SEED128, padding);
+			seed.setUserKey("1234");
+			byte[] cipher = seed.encrypt(plain) ;
+			String msg = "StreamTest (" + mode + " " + padding + " " + length + ")" ;
+
+			// 조금씩 읽혀도 끝까지 처리해야 한다.
+			ByteArrayOutputStream baos = new ByteArrayOutputStream() ;
+			seed.encrypt(new TrickleInputStream(plain, length), baos) ;
+			assertArrayEquals(cipher, baos.toByteArray(), msg) ;
+
+			baos = new ByteArrayOutputStream() ;
+			seed.decrypt(new TrickleInputStream(cipher, length), baos) ;
+			assertArrayEquals(plain, baos.toByteArray(), msg) ;
+
+			for(int bufferSize : new int[] { 16, 1000, SEEDOutputStream.DEFAULT_BUFFER_SIZE })
+			for(SEED.Action action : SEED.Action.values()) {
+				byte[] in = (action == SEED.Action.ENCRYPT) ? plain : cipher ;
+				byte[] expected = (action == SEED.Action.ENCRYPT) ? cipher : plain ;
+
+				baos = new ByteArrayOutputStream() ;
+				try (SEEDOutputStream os = new SEEDOutputStream(baos, seed, action, bufferSize)) {
+					for(int i = 0; i < in.length;) {
+						int size = Math.min(random.nextInt(3000), in.length - i) ;
+						if (size == 0)	os.write(in[i++]) ;
+						else			os.write(in, i, size) ;
+						i += size ;
+						if (random.nextInt(10) == 0)	os.flush() ;
+					}
+				}
+				assertArrayEquals(expected, baos.toByteArray(), msg + " SEEDOutputStream " + action + " " + bufferSize) ;
+
+				baos = new ByteArrayOutputStream() ;
+				try (SEEDInputStream is = new SEEDInputStream(new TrickleInputStream(in, bufferSize), seed, action, bufferSize)) {
+					byte[] buffer = new byte[1 + random.nextInt(5000)] ;
+					for(int read_byte_count; (read_byte_count = is.read(buffer)) >= 0;)
+						baos.write(buffer, 0, read_byte_count) ;
+					assertEquals(-1, is.read()) ;
+				}
+				assertArrayEquals(expected, baos.toByteArray(), msg + " SEEDInputStream " + action + " " + bufferSize) ;
+
+				// 읽기와 건너뛰기를 섞어도 건너뛴 만큼 뒤의 결과를 읽는다.
+				try (SEEDInputStream is = new SEEDInputStream(new TrickleInputStream(in, bufferSize), seed, action, bufferSize)) {
+					int position = 0 ;
+					while (position < expected.length) {
+						long skipped = is.skip(random.nextInt(3000)) ;
+						position += (int)skipped ;
+						if (position >= expected.length)	break ;
+						assertEquals(expected[position++] & 0xFF, is.read(), msg + " skip " + action + " " + bufferSize) ;
+					}
+					assertEquals(expected.length, position, msg + " skip " + action + " " + bufferSize) ;
+					assertEquals(0, is.skip(10)) ;
+					assertEquals(-1, is.read()) ;
+				}
+			}
+		}
+
+		SEED seed = new SEED(SEED.Mode.CBC, SEED.Bit.SEED128, SEED.Padding.PKCS7);
+		seed.setUserKey("1234");
+		byte[] cipher = seed.encrypt(new byte[100]) ;
+		seed.setUserKey("wrong");
+		SEEDInputStream is = new SEEDInputStream(new ByteArrayInputStream(cipher), seed, SEED.Action.DECRYPT) ;
+		assertEquals(SEED.Error.PADDING, assertThrows(ZEEDException.class, () -> { while(is.read(new byte[200]) >= 0) ; }).getError()) ;
+	}
+
+	@Test
+	void ChannelTest() throws IOException {
+		Random random = new Random(3456) ;
+		for(SEED.Mode mode : SEED.Mode.values())
+		for(int length : new int[] { 0, 1, 16, 100, 70000 }) {
+			byte[] plain = new byte[length] ;
+			random.nextBytes(plain) ;
+			SEED seed = new SEED(mode, SEED.Bit.SEED128, SEED.Padding.PKCS7);
+			seed.setUserKey("1234");
+			byte[] cipher = seed.encrypt(plain) ;
+			String msg = "ChannelTest (" + mode + " " + length + ")" ;
+
+			for(int bufferSize : new int[] { 16, 1000, SEEDWritableChannel.DEFAULT_BUFFER_SIZE })
+			for(SEED.Action action : SEED.Action.values()) {
+				byte[] in = (action == SEED.Action.ENCRYPT) ? plain : cipher ;
+				byte[] expected = (action == SEED.Action.ENCRYPT) ? cipher : plain ;
+
+				// Heap/Direct ByteBuffer를 섞어서 모아 쓰기
+				List<ByteBuffer> buffers = new ArrayList<ByteBuffer>() ;
+				for(int i = 0; i < in.length;) {
+					int size = Math.min(random.nextInt(3000), in.length - i) ;
+					ByteBuffer buffer = random.nextBoolean() ? ByteBuffer.allocateDirect(size) : ByteBuffer.allocate(size) ;
+					buffer.put(in, i, size).flip() ;
+					buffers.add(buffer) ;
+					i += size ;
+				}
+				ByteArrayOutputStream baos = new ByteArrayOutputStream() ;
+				try (SEEDWritableChannel channel = new SEEDWritableChannel(Channels.newChannel(baos), seed, action, bufferSize)) {
+					assertEquals(in.length, channel.write(buffers.toArray(new ByteBuffer[0]))) ;
+				}
+				assertArrayEquals(expected, baos.toByteArray(), msg + " SEEDWritableChannel " + action + " " + bufferSize) ;
+
+				baos = new ByteArrayOutputStream() ;
+				try (SEEDReadableChannel channel = new SEEDReadableChannel(Channels.newChannel(new TrickleInputStream(in, bufferSize)), seed, action, bufferSize)) {
+					ByteBuffer buffer = ByteBuffer.allocateDirect(1 + random.nextInt(5000)) ;
+					while(channel.read(buffer) >= 0) {
+						buffer.flip() ;
+						while(buffer.hasRemaining())	baos.write(buffer.get()) ;
+						buffer.clear() ;
+					}
+				}
+				assertArrayEquals(expected, baos.toByteArray(), msg + " SEEDReadableChannel " + action + " " + bufferSize) ;
+			}
+		}
+	}
+
+	/**
+	 * 파일 암/복호화 (FileTest, PipelineTest, ContainerTest, InPlaceTest 공통)
+	 */
+	@FunctionalInterface
+	interface FileCipher {
+		long apply(SEED seed, SEED.Action action, Path source, Path target) throws IOException ;
+	}
+
+	static byte[] randomBytes(int length, long seed) {
+		byte[] ret = new byte[length] ;
+		new Random(seed).nextBytes(ret) ;
+		return ret ;
+	}
+
+	/**
+	 * dir에 plain 파일을 쓰고, 암호화 후 복호화한 결과 확인하기
+	 * @param expected	예상 암호문 (null이면 확인하지 않음)
+	 * @return 암호문 파일
+	 */
+	static Path assertRoundTrip(FileCipher cipher, SEED seed, Path dir, byte[] plain, byte[] expected, String msg) throws IOException {
+		Path source = dir.resolve("source") ;
+		Path cipher_file = dir.resolve("cipher") ;
+		Path plain_file = dir.resolve("plain") ;
+		Files.write(source, plain) ;
+
+		assertEquals(cipher.apply(seed, SEED.Action.ENCRYPT, source, cipher_file), Files.size(cipher_file), msg) ;
+		if (expected != null)	assertArrayEquals(expected, Files.readAllBytes(cipher_file), msg) ;
+
+		assertEquals(plain.length, cipher.apply(seed, SEED.Action.DECRYPT, cipher_file, plain_file), msg) ;
+		assertArrayEquals(plain, Files.readAllBytes(plain_file), msg) ;
+		return cipher_file ;
+	}
+
+	/**
+	 * 틀린 키로 복호화하면 Error.PADDING이고, target은 그대로여야 한다.
+	 */
+	static void assertWrongKeyUntouched(FileCipher cipher, SEED wrong, Path cipher_file, Path target) throws IOException {
+		byte[] before = Files.readAllBytes(target) ;
+		assertEquals(SEED.Error.PADDING, assertThrows(ZEEDException.class, () -> cipher.apply(wrong, SEED.Action.DECRYPT, cipher_file, target)).getError()) ;
+		assertArrayEquals(before, Files.readAllBytes(target)) ;
+	}
+
+	static SEED wrongKeySEED(SEED.Mode mode, SEED.Bit bit, SEED.Padding padding) {
+		SEED seed = new SEED(mode, bit, padding);
+		seed.setUserKey("wrong");
+		return seed ;
+	}
+
+	@Test
+	void FileTest(@TempDir Path dir) throws IOException {
+		FileCipher file_cipher = (seed, action, source, target) ->
+				(action == SEED.Action.ENCRYPT) ? SEEDFile.encrypt(seed, source, target) : SEEDFile.decrypt(seed, source, target) ;
+		ForkJoinPool pool = new ForkJoinPool(4) ;
+		try {
+			for(SEED.Mode mode : SEED.Mode.values())
+			for(boolean parallel : new boolean[] { false, true })
+			for(int length : new int[] { 0, 1, 16, 100, 3 * 1024 * 1024 + 11 }) {
+				byte[] plain = randomBytes(length, length) ;
+				SEED seed = new SEED(mode, SEED.Bit.SEED128, SEED.Padding.PKCS7);
+				seed.setUserKey("1234");
+				ByteArrayOutputStream baos = new ByteArrayOutputStream() ;
+				seed.encrypt(new ByteArrayInputStream(plain), baos) ;
+				if (parallel)	seed.setParallelism(pool, 1024 * 1024) ;
+
+				assertRoundTrip(file_cipher, seed, dir, plain, baos.toByteArray(), "FileTest (" + mode + " " + parallel + " " + length + ")") ;
+			}
+
+			// 키가 틀리면 결과 파일을 건드리지 않는다.
+			SEED wrong = wrongKeySEED(SEED.Mode.CTR, SEED.Bit.SEED128, SEED.Padding.PKCS7) ;
+			assertWrongKeyUntouched(file_cipher, wrong, dir.resolve("cipher"), dir.resolve("plain")) ;
+			assertThrows(IllegalArgumentException.class, () -> SEEDFile.encrypt(wrong, dir.resolve("source"), dir.resolve("source"))) ;
+		} finally {
+			pool.shutdown() ;
+		}
+	}
+
+	@Test
+	void PipelineTest(@TempDir Path dir) throws IOException {
+		for(SEED.Mode mode : SEED.Mode.values())
+		for(int chunkSize : new int[] { 16, 1024, SEEDFile.DEFAULT_PIPELINE_CHUNK_SIZE })
+		for(int length : new int[] { 0, 1, 16, 1024, 5000, 3 * 1024 * 1024 + 11 }) {
+			if (chunkSize == 16 && length > 5000)	continue ;
+
+			FileCipher pipelined = (seed, action, source, target) ->
+					(action == SEED.Action.ENCRYPT) ? SEEDFile.encryptPipelined(seed, source, target, chunkSize) : SEEDFile.decryptPipelined(seed, source, target, chunkSize) ;
+			byte[] plain = randomBytes(length, length) ;
+			SEED seed = new SEED(mode, SEED.Bit.SEED128, SEED.Padding.PKCS7);
+			seed.setUserKey("1234");
+
+			assertRoundTrip(pipelined, seed, dir, plain, seed.encrypt(plain), "PipelineTest (" + mode + " " + chunkSize + " " + length + ")") ;
+		}
+
+		FileCipher pipelined = (seed, action, source, target) ->
+				(action == SEED.Action.ENCRYPT) ? SEEDFile.encryptPipelined(seed, source, target) : SEEDFile.decryptPipelined(seed, source, target) ;
+		assertWrongKeyUntouched(pipelined, wrongKeySEED(SEED.Mode.CTR, SEED.Bit.SEED128, SEED.Padding.PKCS7), dir.resolve("cipher"), dir.resolve("plain")) ;
+	}
+
+	@Test
+	void ContainerTest(@TempDir Path dir) throws IOException {
+		int chunkSize = 4096 ;
+		FileCipher container_cipher = (seed, action, source, target) ->
+				(action == SEED.Action.ENCRYPT) ? SEEDContainer.encrypt(seed, source, target, chunkSize) : SEEDContainer.decrypt(seed, source, target) ;
+		Random random = new Random(4567) ;
+		Path container_file = dir.resolve("cipher") ;
+		ForkJoinPool pool = new ForkJoinPool(4) ;
+		try {
+			for(SEED.Mode mode : SEED.Mode.values())
+			for(boolean parallel : new boolean[] { false, true })
+			for(int length : new int[] { 0, 1, 16, 1000, 300000 }) {
+				byte[] plain = randomBytes(length, length) ;
+				String msg = "ContainerTest (" + mode + " " + parallel + " " + length + ")" ;
+				SEED seed = new SEED(mode, SEED.Bit.SEED256, SEED.Padding.X923);
+				seed.setUserKey("1234");
+				if (parallel)	seed.setParallelism(pool, 1024) ;
+
+				assertRoundTrip(container_cipher, seed, dir, plain, null, msg) ;
+
+				try (SEEDContainer container = SEEDContainer.open(seed, container_file)) {
+					assertEquals(length, container.length()) ;
+					assertEquals((length + chunkSize - 1) / chunkSize, container.chunkCount()) ;
+					for(int i = 0; i < 20; ++i) {
+						int position = random.nextInt(length + 1) ;
+						int read_size = random.nextInt(3 * chunkSize) ;
+						byte[] expected = Arrays.copyOfRange(plain, position, Math.min(length, position + read_size)) ;
+						assertArrayEquals(expected, container.read(position, read_size), msg + " read " + position + " " + read_size) ;
+					}
+				}
+			}
+		} finally {
+			pool.shutdown() ;
+		}
+
+		// ThreadPoolExecutor (newCachedThreadPool()은 최대 Thread 수가 Integer.MAX_VALUE)
+		ExecutorService executor = Executors.newCachedThreadPool() ;
+		try {
+			SEED seed = new SEED(SEED.Mode.CTR, SEED.Bit.SEED256, SEED.Padding.X923);
+			seed.setUserKey("1234");
+			seed.setParallelism(executor, 1024) ;
+			byte[] plain = randomBytes(300000, 300000) ;
+			assertRoundTrip(container_cipher, seed, dir, plain, null, "ContainerTest (ThreadPoolExecutor)") ;
+			try (SEEDContainer container = SEEDContainer.open(seed, container_file)) {
+				assertArrayEquals(Arrays.copyOfRange(plain, 1000, 1000 + 3 * chunkSize), container.read(1000, 3 * chunkSize)) ;
+			}
+		} finally {
+			executor.shutdown() ;
+		}
+
+		// 다른 키, 다른 Mode (마지막 Container는 CTR)
+		SEED seed = wrongKeySEED(SEED.Mode.CTR, SEED.Bit.SEED256, SEED.Padding.X923) ;
+		try (SEEDContainer container = SEEDContainer.open(seed, container_file)) {
+			assertEquals(SEED.Error.PADDING, assertThrows(ZEEDException.class, () -> container.read(0, 100)).getError()) ;
+		}
+		assertWrongKeyUntouched(container_cipher, seed, container_file, dir.resolve("plain")) ;
+		SEED ecb = new SEED(SEED.Mode.ECB, SEED.Bit.SEED256, SEED.Padding.X923);
+		ecb.setUserKey("1234");
+		assertEquals(SEED.Error.CONTAINER_FORMAT, assertThrows(ZEEDException.class, () -> SEEDContainer.open(ecb, container_file)).getError()) ;
+		assertEquals(SEED.Error.CONTAINER_FORMAT, assertThrows(ZEEDException.class, () -> SEEDContainer.open(ecb, dir.resolve("source"))).getError()) ;
+	}
+
+	/**
+	 * count번째 여러 Block 처리에서 멈추는(Crash) SEED
+	 */
+	static SEED crashingSEED(SEED.Mode mode, int count) {
+		SEED seed = new SEED(mode, SEED.Bit.SEED128, SEED.Padding.PKCS7) {
+			int calls = 0 ;
+
+			@Override
+			void _bulkEncrypt(byte[] plain, int p_offset, byte[] cipher, int c_offset, int length) {
+				if (++calls == count)	throw new IllegalStateException("crash") ;
+				super._bulkEncrypt(plain, p_offset, cipher, c_offset, length) ;
+			}
+
+			@Override
+			void _bulkDecrypt(byte[] cipher, int c_offset, byte[] plain, int p_offset, int length) {
+				if (++calls == count)	throw new IllegalStateException("crash") ;
+				super._bulkDecrypt(cipher, c_offset, plain, p_offset, length) ;
+			}
+		} ;
+		seed.setUserKey("1234") ;
+		return seed ;
+	}
+
+	/**
+	 * Journal에 평문 Block이 없는가? (암호화 Journal에는 암호문만 남아야 한다.)
+	 */
+	static void assertNoPlainInJournal(byte[] plain, Path journal_file, int regionSize) throws IOException {
+		String journal = new String(Files.readAllBytes(journal_file), StandardCharsets.ISO_8859_1) ;
+		for(int offset = 0; offset + 16 <= plain.length; offset += regionSize)
+			assertFalse(journal.contains(new String(plain, offset, 16, StandardCharsets.ISO_8859_1)), "plain block " + offset + " in journal") ;
+	}
+
+	@Test
+	void InPlaceTest(@TempDir Path dir) throws IOException {
+		int regionSize = 1024 ;
+		// source를 target으로 복사한 후 target을 그 자리에서 (source와 target이 같으면 복사하지 않는다.)
+		FileCipher in_place = (seed, action, source, target) -> {
+			if (!source.equals(target))	Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING) ;
+			return (action == SEED.Action.ENCRYPT) ? SEEDFile.encryptInPlace(seed, target, regionSize) : SEEDFile.decryptInPlace(seed, target, regionSize) ;
+		} ;
+		Path file = dir.resolve("data") ;
+		for(SEED.Mode mode : SEED.Mode.values())
+		for(int length : new int[] { 0, 1, 16, 100, 10000 }) {
+			byte[] plain = randomBytes(length, length) ;
+			SEED seed = new SEED(mode, SEED.Bit.SEED128, SEED.Padding.PKCS7);
+			seed.setUserKey("1234");
+			byte[] cipher = seed.encrypt(plain) ;
+			String msg = "InPlaceTest (" + mode + " " + length + ")" ;
+
+			Path cipher_file = assertRoundTrip(in_place, seed, dir, plain, cipher, msg) ;
+			assertFalse(Files.exists(SEEDFile.journalOf(cipher_file))) ;
+
+			// 중간(마지막 영역 포함)에 멈춘 후, 덮어쓰던 영역이 깨져 있어도 다시 부르면 이어서 처리한다.
+			// (복호화는 멈춘 영역을 되돌리고, 암호화는 Journal에 기록된 바로 앞 영역을 다시 쓴다.)
+			for(int crash = 1; crash <= (length + regionSize) / regionSize + 1; crash += 3) {
+				for(SEED.Action action : SEED.Action.values()) {
+					byte[] in = (action == SEED.Action.ENCRYPT) ? plain : cipher ;
+					byte[] expected = (action == SEED.Action.ENCRYPT) ? cipher : plain ;
+					if (in.length == 0)	continue ;
+
+					Files.write(file, in) ;
+					try {
+						in_place.apply(crashingSEED(mode, crash), action, file, file) ;
+					} catch (IllegalStateException e) {
+						assertTrue(Files.exists(SEEDFile.journalOf(file)), msg) ;
+						long broken = (action == SEED.Action.ENCRYPT) ? crash - 2 : crash - 1 ;
+						if (broken >= 0) {
+							try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+								channel.write(ByteBuffer.wrap(new byte[] { 1, 2, 3 }), Math.min(broken * regionSize, channel.size() - 1)) ;
+							}
+						}
+						if (action == SEED.Action.ENCRYPT)	assertNoPlainInJournal(plain, SEEDFile.journalOf(file), regionSize) ;
+					}
+
+					in_place.apply(seed, action, file, file) ;
+					assertArrayEquals(expected, Files.readAllBytes(file), msg + " crash " + action + " " + crash) ;
+					assertFalse(Files.exists(SEEDFile.journalOf(file))) ;
+				}
+			}
+		}
+
+		// 키가 틀리면 파일을 건드리지 않는다.
+		SEED seed = new SEED(SEED.Mode.CBC, SEED.Bit.SEED128, SEED.Padding.PKCS7);
+		seed.setUserKey("1234");
+		Files.write(file, seed.encrypt(new byte[5000])) ;
+		assertWrongKeyUntouched(in_place, wrongKeySEED(SEED.Mode.CBC, SEED.Bit.SEED128, SEED.Padding.PKCS7), file, file) ;
+		assertFalse(Files.exists(SEEDFile.journalOf(file))) ;
+
+		// 멈춘 후 다른 키나 iv로는 이어서 처리하지 않고, 파일과 Journal을 그대로 둔다.
+		byte[] plain = randomBytes(5000, 5000) ;
+		Files.write(file, plain) ;
+		assertThrows(IllegalStateException.class, () -> in_place.apply(crashingSEED(SEED.Mode.CBC, 2), SEED.Action.ENCRYPT, file, file)) ;
+		byte[] crashed = Files.readAllBytes(file) ;
+		byte[] journal = Files.readAllBytes(SEEDFile.journalOf(file)) ;
+		SEED other_iv = new SEED(SEED.Mode.CBC, SEED.Bit.SEED128, SEED.Padding.PKCS7);
+		other_iv.setUserKey("1234");
+		other_iv.setInitialVector(randomBytes(16, 16)) ;
+		for(SEED other : new SEED[] { wrongKeySEED(SEED.Mode.CBC, SEED.Bit.SEED128, SEED.Padding.PKCS7), other_iv }) {
+			assertThrows(IllegalStateException.class, () -> in_place.apply(other, SEED.Action.ENCRYPT, file, file)) ;
+			assertArrayEquals(crashed, Files.readAllBytes(file)) ;
+			assertArrayEquals(journal, Files.readAllBytes(SEEDFile.journalOf(file))) ;
+		}
+		in_place.apply(seed, SEED.Action.ENCRYPT, file, file) ;
+		assertArrayEquals(seed.encrypt(plain), Files.readAllBytes(file)) ;
+		assertFalse(Files.exists(SEEDFile.journalOf(file))) ;
+	}
+
 	//@Test
 	void OptionTest() {
 		String plain_text = "1234123412341234" ;
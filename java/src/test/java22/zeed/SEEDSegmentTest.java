@@ -0,0 +1,44 @@
+package zeed;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+class SEEDSegmentTest {
+	@Test
+	void SegmentTest() {
+		byte[] plain = new byte[3 * 1024 * 1024 + 11] ;
+		new Random(8901).nextBytes(plain) ;
+
+		ForkJoinPool pool = new ForkJoinPool(4) ;
+		try (Arena arena = Arena.ofShared()) {
+			for(SEED.Mode mode : SEED.Mode.values())
+			for(boolean parallel : new boolean[] { false, true }) {
+				SEED seed = new SEED(mode, SEED.Bit.SEED128, SEED.Padding.PKCS7);
+				seed.setUserKey("1234");
+				byte[] expected = seed.encrypt(plain) ;
+				if (parallel)	seed.setParallelism(pool, 1024 * 1024) ;
+
+				MemorySegment segment = arena.allocate(SEEDSegment.getOutputSize(plain.length, SEED.Action.ENCRYPT)) ;
+				MemorySegment.copy(plain, 0, segment, ValueLayout.JAVA_BYTE, 0, plain.length) ;
+
+				// 같은 Segment에서 암/복호화
+				long length = SEEDSegment.encrypt(seed, segment.asSlice(0, plain.length), segment) ;
+				assertEquals(expected.length, length) ;
+				assertArrayEquals(expected, segment.toArray(ValueLayout.JAVA_BYTE), "SegmentTest encrypt (" + mode + " " + parallel + ")") ;
+
+				length = SEEDSegment.decrypt(seed, segment, segment) ;
+				assertEquals(plain.length, length) ;
+				assertArrayEquals(plain, segment.asSlice(0, length).toArray(ValueLayout.JAVA_BYTE), "SegmentTest decrypt (" + mode + " " + parallel + ")") ;
+			}
+		} finally {
+			pool.shutdown() ;
+		}
+	}
+}